@@ -405,7 +405,7 @@ export default function AccountsPage() {
                 required
                 value={transactionForm. targetAccount}
                 onChange={(e) => setTransactionForm({ ... transactionForm, targetAccount: e.target.value })}
-                placeholder="888XXXXXXX"
+                placeholder="888XXXXXXXXX"
                 className="w-full px-4 py-3 bg-slate-800 border border-slate-700 rounded-lg text-slate-100 font-mono"
               />
             </div>
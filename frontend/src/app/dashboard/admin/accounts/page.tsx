@@ -15,6 +15,12 @@ import {
   AlertCircle,
 } from 'lucide-react';
 
+interface AccountPage {
+  content: Account[];
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 interface Account {
   accountNumber: string;
   accountType: string;
@@ -29,6 +35,8 @@ export default function AdminAccountsPage() {
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [searchTerm, setSearchTerm] = useState('');
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
 
   useEffect(() => {
     const token = localStorage.getItem('vaulta_token');
@@ -49,10 +57,11 @@ export default function AdminAccountsPage() {
   const fetchAccounts = async () => {
     setError(null);
     try {
-      const data = await apiClient.get<Account[]>(
+      const data = await apiClient.get<AccountPage>(
         API_ENDPOINTS.ADMIN.ACCOUNTS
       );
-      setAccounts(data);
+      setAccounts(data.content);
+      setNextCursor(data.nextCursor);
     } catch (err: any) {
       setError(err.response?. data?.message || 'Failed to load accounts');
     } finally {
@@ -60,6 +69,23 @@ export default function AdminAccountsPage() {
     }
   };
 
+  const loadMoreAccounts = async () => {
+    if (!nextCursor) return;
+
+    setIsLoadingMore(true);
+    try {
+      const data = await apiClient.get<AccountPage>(
+        `${API_ENDPOINTS.ADMIN.ACCOUNTS}?cursor=${encodeURIComponent(nextCursor)}`
+      );
+      setAccounts((prev) => [...prev, ...data.content]);
+      setNextCursor(data.nextCursor);
+    } catch (err: any) {
+      setError(err.response?.data?.message || 'Failed to load accounts');
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const filterAccounts = () => {
     if (!searchTerm) {
       setFilteredAccounts(accounts);
@@ -194,6 +220,18 @@ export default function AdminAccountsPage() {
             </div>
           )}
         </div>
+
+        {nextCursor && (
+          <div className="p-4 border-t border-slate-800 flex justify-center">
+            <button
+              onClick={loadMoreAccounts}
+              disabled={isLoadingMore}
+              className="px-4 py-2 bg-slate-800 hover:bg-slate-700 text-slate-300 rounded-lg text-sm font-medium transition-colors disabled:opacity-50"
+            >
+              {isLoadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -36,6 +36,8 @@ interface UserManagement {
   totalBalance: number;
 }
 
+const FIRST_PAGE_SIZE = 10;
+
 export default function AdminDashboard() {
   const router = useRouter();
   const [stats, setStats] = useState<AdminStats | null>(null);
@@ -68,11 +70,11 @@ export default function AdminDashboard() {
     try {
       const [statsData, usersData] = await Promise.all([
         apiClient.get<AdminStats>(API_ENDPOINTS.ADMIN.STATS),
-        apiClient.get<UserManagement[]>(API_ENDPOINTS.ADMIN.USERS)
+        apiClient.get<{ content: UserManagement[] }>(`${API_ENDPOINTS.ADMIN.USERS}?size=${FIRST_PAGE_SIZE}`)
       ]);
 
       setStats(statsData);
-      setUsers(usersData);
+      setUsers(usersData.content);
     } catch (err: any) {
       console.error('Failed to fetch admin data:', err);
       setError(err.response?.data?.message || 'Failed to load admin data');
@@ -179,7 +181,9 @@ export default function AdminDashboard() {
       <div className="bg-slate-900 border border-slate-800 rounded-xl overflow-hidden">
         <div className="px-6 py-4 border-b border-slate-800">
           <h3 className="text-lg font-semibold text-slate-100">User Management</h3>
-          <p className="text-sm text-slate-400">Monitor and manage platform users</p>
+          <p className="text-sm text-slate-400">
+            First {FIRST_PAGE_SIZE} users by sign-up. Search and paging are on the Users page.
+          </p>
         </div>
 
         <div className="overflow-x-auto">
@@ -1,6 +1,6 @@
 'use client';
 
-import { useEffect, useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import { useRouter } from 'next/navigation';
 import { apiClient } from '@/lib/apiClient';
 import { API_ENDPOINTS } from '@/lib/constants';
@@ -15,6 +15,12 @@ import {
   RefreshCw,
 } from 'lucide-react';
 
+interface UserPage {
+  content: User[];
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 interface User {
   id:  number;
   username: string;
@@ -27,10 +33,14 @@ interface User {
 export default function AdminUsersPage() {
   const router = useRouter();
   const [users, setUsers] = useState<User[]>([]);
-  const [filteredUsers, setFilteredUsers] = useState<User[]>([]);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [searchTerm, setSearchTerm] = useState('');
+  const [statusFilter, setStatusFilter] = useState('');
+  const [roleFilter, setRoleFilter] = useState('');
+  const requestSeq = useRef(0);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [actionLoading, setActionLoading] = useState<number | null>(null);
   
   const [showResetModal, setShowResetModal] = useState(false);
@@ -38,6 +48,7 @@ export default function AdminUsersPage() {
   const [tempPassword, setTempPassword] = useState('');
   const [isSubmitting, setIsSubmitting] = useState(false);
 
+  // Filters are applied by the server, so any change starts again from the first page.
   useEffect(() => {
     const token = localStorage.getItem('vaulta_token');
     const role = localStorage.getItem('vaulta_role');
@@ -47,20 +58,30 @@ export default function AdminUsersPage() {
       return;
     }
 
-    fetchUsers();
-  }, [router]);
-
-  useEffect(() => {
-    filterUsers();
-  }, [users, searchTerm]);
+    const timer = setTimeout(fetchUsers, 300);
+    return () => clearTimeout(timer);
+  }, [router, searchTerm, statusFilter, roleFilter]);
+
+  const usersUrl = (cursor?: string) => {
+    const params = new URLSearchParams();
+    if (searchTerm.trim()) params.set('search', searchTerm.trim());
+    if (statusFilter) params.set('status', statusFilter);
+    if (roleFilter) params.set('role', roleFilter);
+    if (cursor) params.set('cursor', cursor);
+    const query = params.toString();
+    return query ? `${API_ENDPOINTS.ADMIN.USERS}?${query}` : API_ENDPOINTS.ADMIN.USERS;
+  };
 
   const fetchUsers = async () => {
+    const seq = ++requestSeq.current;
     setError(null);
+    setNextCursor(null);
     try {
-      const data = await apiClient.get<User[]>(
-        API_ENDPOINTS.ADMIN.USERS
-      );
-      setUsers(data);
+      const data = await apiClient.get<UserPage>(usersUrl());
+      // A response for filters that have since changed is dropped.
+      if (seq !== requestSeq.current) return;
+      setUsers(data.content);
+      setNextCursor(data.nextCursor);
     } catch (err: any) {
       setError(err.response?.data?.message || 'Failed to load users');
     } finally {
@@ -68,18 +89,21 @@ export default function AdminUsersPage() {
     }
   };
 
-  const filterUsers = () => {
-    if (!searchTerm) {
-      setFilteredUsers(users);
-      return;
-    }
+  const loadMoreUsers = async () => {
+    if (!nextCursor) return;
 
-    const filtered = users.filter(
-      (user) =>
-        user.username.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        user.email.toLowerCase().includes(searchTerm.toLowerCase())
-    );
-    setFilteredUsers(filtered);
+    const seq = requestSeq.current;
+    setIsLoadingMore(true);
+    try {
+      const data = await apiClient.get<UserPage>(usersUrl(nextCursor));
+      if (seq !== requestSeq.current) return;
+      setUsers((prev) => [...prev, ...data.content]);
+      setNextCursor(data.nextCursor);
+    } catch (err: any) {
+      setError(err.response?.data?.message || 'Failed to load users');
+    } finally {
+      setIsLoadingMore(false);
+    }
   };
 
   const handleToggleStatus = async (userId: number) => {
@@ -198,7 +222,7 @@ export default function AdminUsersPage() {
         <div className="bg-slate-900 border border-slate-800 rounded-xl p-6">
           <div className="flex items-center gap-3 mb-2">
             <Users className="w-8 h-8 text-blue-500" />
-            <p className="text-sm text-slate-400">Total Users</p>
+            <p className="text-sm text-slate-400">Users Shown</p>
           </div>
           <p className="text-3xl font-bold text-blue-500">{users. length}</p>
         </div>
@@ -206,7 +230,7 @@ export default function AdminUsersPage() {
         <div className="bg-slate-900 border border-slate-800 rounded-xl p-6">
           <div className="flex items-center gap-3 mb-2">
             <UserCheck className="w-8 h-8 text-green-500" />
-            <p className="text-sm text-slate-400">Active Users</p>
+            <p className="text-sm text-slate-400">Active (shown)</p>
           </div>
           <p className="text-3xl font-bold text-green-500">{activeUsers}</p>
         </div>
@@ -214,23 +238,43 @@ export default function AdminUsersPage() {
         <div className="bg-slate-900 border border-slate-800 rounded-xl p-6">
           <div className="flex items-center gap-3 mb-2">
             <Shield className="w-8 h-8 text-violet-500" />
-            <p className="text-sm text-slate-400">Administrators</p>
+            <p className="text-sm text-slate-400">Administrators (shown)</p>
           </div>
           <p className="text-3xl font-bold text-violet-500">{adminUsers}</p>
         </div>
       </div>
 
-      <div className="bg-slate-900 border border-slate-800 rounded-xl p-6">
-        <div className="relative">
+      <div className="bg-slate-900 border border-slate-800 rounded-xl p-6 flex gap-4">
+        <div className="relative flex-1">
           <Search className="absolute left-3 top-1/2 -translate-y-1/2 w-5 h-5 text-slate-500" />
           <input
             type="text"
-            placeholder="Search by username or email..."
+            placeholder="Search by username or email prefix..."
             value={searchTerm}
             onChange={(e) => setSearchTerm(e.target.value)}
             className="w-full pl-10 pr-4 py-3 bg-slate-800 border border-slate-700 rounded-lg text-slate-100 placeholder-slate-500 focus:outline-none focus:border-emerald-500"
           />
         </div>
+        <select
+          value={statusFilter}
+          onChange={(e) => setStatusFilter(e.target.value)}
+          className="px-4 py-3 bg-slate-800 border border-slate-700 rounded-lg text-slate-100 focus:outline-none focus:border-emerald-500"
+        >
+          <option value="">All statuses</option>
+          <option value="ACTIVE">Active</option>
+          <option value="INACTIVE">Inactive</option>
+          <option value="FROZEN">Frozen</option>
+          <option value="CLOSED">Closed</option>
+        </select>
+        <select
+          value={roleFilter}
+          onChange={(e) => setRoleFilter(e.target.value)}
+          className="px-4 py-3 bg-slate-800 border border-slate-700 rounded-lg text-slate-100 focus:outline-none focus:border-emerald-500"
+        >
+          <option value="">All roles</option>
+          <option value="USER">User</option>
+          <option value="ADMIN">Admin</option>
+        </select>
       </div>
 
       <div className="bg-slate-900 border border-slate-800 rounded-xl overflow-hidden">
@@ -256,7 +300,7 @@ export default function AdminUsersPage() {
               </tr>
             </thead>
             <tbody className="divide-y divide-slate-800">
-              {filteredUsers.map((user) => (
+              {users.map((user) => (
                 <tr key={user.id} className="hover:bg-slate-800/30 transition-colors">
                   <td className="px-6 py-4">
                     <div>
@@ -332,13 +376,25 @@ export default function AdminUsersPage() {
             </tbody>
           </table>
 
-          {filteredUsers.length === 0 && (
+          {users.length === 0 && (
             <div className="py-12 text-center">
               <Users className="w-12 h-12 text-slate-700 mx-auto mb-3" />
               <p className="text-slate-500">No users found</p>
             </div>
           )}
         </div>
+
+        {nextCursor && (
+          <div className="p-4 border-t border-slate-800 flex justify-center">
+            <button
+              onClick={loadMoreUsers}
+              disabled={isLoadingMore}
+              className="px-4 py-2 bg-slate-800 hover:bg-slate-700 text-slate-300 rounded-lg text-sm font-medium transition-colors disabled:opacity-50"
+            >
+              {isLoadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
 
       {showResetModal && (
@@ -4,6 +4,7 @@ import { useEffect, useState } from 'react';
 import { useRouter } from 'next/navigation';
 import { apiClient } from '@/lib/apiClient';
 import { API_ENDPOINTS } from '@/lib/constants';
+import { openEventStream } from '@/lib/eventStream';
 import { 
   Wallet, 
   CreditCard, 
@@ -20,6 +21,10 @@ interface Transaction {
   amount: number;
 }
 
+interface BalanceUpdate {
+  totalBalance: number;
+}
+
 interface DashboardSummary {
   totalBalance: number;
   primaryAccountNumber: string;
@@ -45,6 +50,18 @@ export default function UserDashboard() {
     // Admins can now see their own dashboard, no redirect
 
     fetchDashboardData();
+
+    // Live updates replace re-fetching the summary after every change.
+    return openEventStream(API_ENDPOINTS.DASHBOARD.STREAM, {
+      balance: (update: BalanceUpdate) =>
+        setDashboardData((prev) => (prev ? { ...prev, totalBalance: update.totalBalance } : prev)),
+      transaction: (transaction: Transaction) =>
+        setDashboardData((prev) =>
+          prev
+            ? { ...prev, recentTransactions: [transaction, ...prev.recentTransactions].slice(0, 5) }
+            : prev
+        ),
+    });
   }, [router]);
 
   const fetchDashboardData = async () => {
@@ -45,6 +45,7 @@ export const API_ENDPOINTS = {
   // Dashboard
   DASHBOARD: {
     SUMMARY: `${API_BASE_URL}/api/v1/dashboard/summary`,
+    STREAM: `${API_BASE_URL}/api/v1/dashboard/stream`,
   },
 
   // Admin
@@ -0,0 +1,59 @@
+type EventHandlers = Record<string, (data: any) => void>;
+
+const RETRY_DELAY_MS = 3000;
+
+/**
+ * Subscribes to a Server-Sent Events endpoint. EventSource cannot send the bearer token,
+ * so the stream is read with fetch and parsed here. Reconnects until the returned function is called.
+ */
+export function openEventStream(url: string, handlers: EventHandlers): () => void {
+  const controller = new AbortController();
+
+  const dispatch = (block: string) => {
+    let event = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+      if (line.startsWith('event:')) event = line.slice(6).trim();
+      else if (line.startsWith('data:')) data.push(line.slice(5).trimStart());
+    }
+    if (data.length === 0) return;
+    handlers[event]?.(JSON.parse(data.join('\n')));
+  };
+
+  const run = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const token = localStorage.getItem('vaulta_token');
+        const response = await fetch(url, {
+          headers: {
+            Accept: 'text/event-stream',
+            ...(token && { Authorization: `Bearer ${token}` }),
+          },
+          signal: controller.signal,
+        });
+
+        if (response.status === 401 || response.status === 403) return;
+        if (!response.ok || !response.body) throw new Error(`Stream failed: ${response.status}`);
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value.replace(/\r\n/g, '\n');
+          let boundary;
+          while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+            dispatch(buffer.slice(0, boundary));
+            buffer = buffer.slice(boundary + 2);
+          }
+        }
+      } catch (err) {
+        if (controller.signal.aborted) return;
+      }
+      await new Promise((resolve) => setTimeout(resolve, RETRY_DELAY_MS));
+    }
+  };
+
+  run();
+  return () => controller.abort();
+}
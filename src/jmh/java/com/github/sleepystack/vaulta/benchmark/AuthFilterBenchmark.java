@@ -0,0 +1,51 @@
+package com.github.sleepystack.vaulta.benchmark;
+
+import com.github.sleepystack.vaulta.entity.SecureUser;
+import com.github.sleepystack.vaulta.filter.AuthFilter;
+import com.github.sleepystack.vaulta.service.JwtService;
+import com.github.sleepystack.vaulta.service.PrincipalCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    private AuthFilter authFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(10_000);
+        SecureUser principal = new SecureUser(BenchmarkFixtures.user("bench@vaulta.com"));
+        // Stands in for the users-table lookup; only reached on a principal cache miss.
+        UserDetailsService userDetailsService = username -> principal;
+
+        authFilter = new AuthFilter(jwtService, userDetailsService, new PrincipalCache(Duration.ofMinutes(5), 10_000));
+        authorizationHeader = "Bearer " + jwtService.generateToken(Map.of("v", 0), principal);
+    }
+
+    @Benchmark
+    public Object authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/me");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            authFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.sleepystack.vaulta.benchmark;
+
+import com.github.sleepystack.vaulta.entity.User;
+import com.github.sleepystack.vaulta.entity.enumeration.Role;
+import com.github.sleepystack.vaulta.entity.enumeration.Status;
+import com.github.sleepystack.vaulta.service.JwtService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+final class BenchmarkFixtures {
+
+    static final String SECRET_KEY = "3c9BvX482mZ6pQ9aR1nS5tU2wX0zY4vB7xM9qP3rN5E=";
+
+    private BenchmarkFixtures() {}
+
+    static JwtService jwtService(long verifiedCacheSize) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    static User user(String email) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(email.substring(0, email.indexOf('@')));
+        user.setEmail(email);
+        user.setPassword("{noop}benchmark");
+        user.setRole(Role.USER);
+        user.setStatus(Status.ACTIVE);
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.sleepystack.vaulta.benchmark;
+
+import com.github.sleepystack.vaulta.dto.AccountRequestDTO;
+import com.github.sleepystack.vaulta.dto.DashboardSummaryDTO;
+import com.github.sleepystack.vaulta.dto.UserRegistrationDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.AccountType;
+import com.github.sleepystack.vaulta.service.AccountService;
+import com.github.sleepystack.vaulta.service.DashboardService;
+import com.github.sleepystack.vaulta.service.TransactionService;
+import com.github.sleepystack.vaulta.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DashboardServiceBenchmark {
+
+    private static final String EMAIL = "dashboard@vaulta.com";
+
+    @Param({"1000", "50000"})
+    public int historySize;
+
+    private PostgresBenchmarkContext context;
+    private DashboardService dashboardService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new PostgresBenchmarkContext();
+        dashboardService = context.getBean(DashboardService.class);
+        TransactionService transactionService = context.getBean(TransactionService.class);
+
+        context.getBean(UserService.class).registerUser(new UserRegistrationDTO("dashboard", EMAIL, "Benchmark123"));
+        String accountNumber = context.getBean(AccountService.class)
+                .openAccount(new AccountRequestDTO(AccountType.CHECKING, BigDecimal.ZERO), EMAIL)
+                .accountNumber();
+        for (int i = 0; i < historySize; i++) {
+            transactionService.deposit(accountNumber, BigDecimal.ONE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DashboardSummaryDTO dashboardSummary() {
+        return dashboardService.getDashboardSummary(EMAIL);
+    }
+}
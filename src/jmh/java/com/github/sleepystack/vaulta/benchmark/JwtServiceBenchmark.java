@@ -0,0 +1,45 @@
+package com.github.sleepystack.vaulta.benchmark;
+
+import com.github.sleepystack.vaulta.entity.SecureUser;
+import com.github.sleepystack.vaulta.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService cachingJwtService;
+    private JwtService uncachedJwtService;
+    private SecureUser principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtService = BenchmarkFixtures.jwtService(10_000);
+        uncachedJwtService = BenchmarkFixtures.jwtService(0);
+        principal = new SecureUser(BenchmarkFixtures.user("bench@vaulta.com"));
+        token = cachingJwtService.generateToken(Map.of("v", 0), principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtService.generateToken(Map.of("v", 0), principal);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return cachingJwtService.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyUncached() {
+        return uncachedJwtService.verify(token);
+    }
+}
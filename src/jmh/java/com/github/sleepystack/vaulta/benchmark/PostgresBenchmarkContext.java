@@ -0,0 +1,44 @@
+package com.github.sleepystack.vaulta.benchmark;
+
+import com.github.sleepystack.vaulta.VaultaApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Boots the application (without the web server) against a throwaway PostgreSQL container,
+ * so service benchmarks exercise the real schema, Flyway migrations, locks and indexes.
+ */
+final class PostgresBenchmarkContext implements AutoCloseable {
+
+    private final PostgreSQLContainer postgres;
+    private final ConfigurableApplicationContext context;
+
+    PostgresBenchmarkContext() {
+        postgres = new PostgreSQLContainer("postgres:16-alpine");
+        postgres.start();
+
+        context = new SpringApplicationBuilder(VaultaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl() + "&stringtype=unspecified",
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "application.security.jwt.secret-key=" + BenchmarkFixtures.SECRET_KEY,
+                        "app.cors.allowed-origins=http://localhost:3000",
+                        "logging.level.com.github.sleepystack.vaulta=WARN"
+                )
+                .run();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.sleepystack.vaulta.benchmark;
+
+import com.github.sleepystack.vaulta.filter.LocalRateLimiter;
+import com.github.sleepystack.vaulta.filter.RateLimitPolicy;
+import com.github.sleepystack.vaulta.filter.RateLimitingFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitingFilterBenchmark {
+
+    private static final int CLIENTS = 50_000;
+
+    private RateLimitingFilter rateLimitingFilter;
+
+    @Setup
+    public void setUp() {
+        Duration minute = Duration.ofMinutes(1);
+        RateLimitPolicy policy = new RateLimitPolicy(10, minute, 30, minute, 120, minute);
+        rateLimitingFilter = new RateLimitingFilter(new LocalRateLimiter(policy, 100_000, Duration.ofMinutes(10)));
+    }
+
+    @State(Scope.Thread)
+    public static class Clients {
+        final MockHttpServletRequest[] requests = new MockHttpServletRequest[1024];
+        int next;
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < requests.length; i++) {
+                int client = ThreadLocalRandom.current().nextInt(CLIENTS);
+                requests[i] = new MockHttpServletRequest("POST", "/api/v1/transactions/transfer");
+                requests[i].setRemoteAddr("10." + (client >> 16) + "." + ((client >> 8) & 0xFF) + "." + (client & 0xFF));
+            }
+        }
+
+        MockHttpServletRequest nextRequest() {
+            return requests[next++ & (requests.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public int manyClients(Clients clients) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitingFilter.doFilter(clients.nextRequest(), response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int singleHotClient() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions/transfer");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitingFilter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.sleepystack.vaulta.benchmark;
+
+import com.github.sleepystack.vaulta.dto.AccountRequestDTO;
+import com.github.sleepystack.vaulta.dto.UserRegistrationDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.AccountType;
+import com.github.sleepystack.vaulta.service.AccountService;
+import com.github.sleepystack.vaulta.service.TransactionService;
+import com.github.sleepystack.vaulta.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    private static final int PAYERS = 16;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private PostgresBenchmarkContext context;
+    private TransactionService transactionService;
+    private final List<String[]> payers = new ArrayList<>();
+    private final AtomicInteger nextPayer = new AtomicInteger();
+    private String merchantAccount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new PostgresBenchmarkContext();
+        transactionService = context.getBean(TransactionService.class);
+        UserService userService = context.getBean(UserService.class);
+        AccountService accountService = context.getBean(AccountService.class);
+
+        merchantAccount = openAccount(userService, accountService, "merchant", BigDecimal.ZERO);
+        for (int i = 0; i < PAYERS; i++) {
+            String email = "payer" + i + "@vaulta.com";
+            payers.add(new String[]{email, openAccount(userService, accountService, "payer" + i, new BigDecimal("1000000000.00"))});
+        }
+    }
+
+    private String openAccount(UserService userService, AccountService accountService, String username, BigDecimal deposit) {
+        String email = username + "@vaulta.com";
+        userService.registerUser(new UserRegistrationDTO(username, email, "Benchmark123"));
+        return accountService.openAccount(new AccountRequestDTO(AccountType.CHECKING, deposit), email).accountNumber();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Payer {
+        String email;
+        String accountNumber;
+
+        @Setup(Level.Trial)
+        public void pick(TransactionServiceBenchmark benchmark) {
+            String[] payer = benchmark.payers.get(benchmark.nextPayer.getAndIncrement() % PAYERS);
+            email = payer[0];
+            accountNumber = payer[1];
+        }
+    }
+
+    // Every thread pays into the same merchant account: measures hot-row lock contention.
+    @Benchmark
+    @Threads(8)
+    public void transferToHotAccount(Payer payer) {
+        transactionService.transfer(payer.accountNumber, merchantAccount, AMOUNT, payer.email);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void transferUncontended(Payer payer) {
+        transactionService.transfer(payer.accountNumber, merchantAccount, AMOUNT, payer.email);
+    }
+}
@@ -2,6 +2,7 @@ package com.github.sleepystack.vaulta.config;
 
 import com.github.sleepystack.vaulta.filter.AuthFilter;
 import com.github.sleepystack.vaulta.filter.RateLimitingFilter;
+import com.github.sleepystack.vaulta.filter.ReadYourWritesFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
@@ -31,6 +32,7 @@ public class SecurityConfig {
     private final AuthFilter authFilter;
     private final AuthenticationProvider authenticationProvider;
     private final RateLimitingFilter rateLimitingFilter;
+    private final ReadYourWritesFilter readYourWritesFilter;
 
     @Value("${app.cors.allowed-origins:http://localhost:3000}")
     private String allowedOrigins;
@@ -56,7 +58,8 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(rateLimitingFilter, authFilter.getClass());
+                .addFilterBefore(rateLimitingFilter, authFilter.getClass())
+                .addFilterAfter(readYourWritesFilter, authFilter.getClass());
 
 
         return http.build();
@@ -1,15 +1,24 @@
 package com.github.sleepystack.vaulta.controller;
 
 import com.github.sleepystack.vaulta.dto.AccountRequestDTO;
+import com.github.sleepystack.vaulta.dto.AccountStatementDTO;
 import com.github.sleepystack.vaulta.dto.AccountResponseDTO;
+import com.github.sleepystack.vaulta.dto.BalanceAtDTO;
+import com.github.sleepystack.vaulta.dto.DailyBalanceDTO;
 import com.github.sleepystack.vaulta.service.AccountService;
+import com.github.sleepystack.vaulta.service.BalanceHistoryService;
+import com.github.sleepystack.vaulta.service.StatementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.springframework.http.ResponseEntity.noContent;
@@ -20,6 +29,8 @@ import static org.springframework.http.ResponseEntity.noContent;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final StatementService statementService;
 
     @PostMapping("/open")
     public ResponseEntity<AccountResponseDTO> openAccount(@Valid @RequestBody AccountRequestDTO a, Authentication authentication) {
@@ -40,6 +51,31 @@ public class AccountController {
         return ResponseEntity.ok(accountService.getAccountDetails(accountNumber, auth.getName()));
     }
 
+    @GetMapping("/{accountNumber}/balance")
+    public ResponseEntity<BalanceAtDTO> getBalanceAt(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            Authentication auth) {
+        return ResponseEntity.ok(balanceHistoryService.getBalanceAt(accountNumber, at, auth.getName()));
+    }
+
+    @GetMapping("/{accountNumber}/balances")
+    public ResponseEntity<List<DailyBalanceDTO>> getDailyBalances(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication auth) {
+        return ResponseEntity.ok(balanceHistoryService.getDailyBalances(accountNumber, from, to, auth.getName()));
+    }
+
+    @GetMapping("/{accountNumber}/statements/{period}")
+    public ResponseEntity<AccountStatementDTO> getStatement(
+            @PathVariable String accountNumber,
+            @PathVariable YearMonth period,
+            Authentication auth) {
+        return ResponseEntity.ok(statementService.getStatement(accountNumber, period, auth.getName()));
+    }
+
     @DeleteMapping("/{accountNumber}")
     public ResponseEntity<Void> closeAccount(@PathVariable String accountNumber, Authentication authentication) {
         accountService.closeAccount(accountNumber,authentication.getName() );
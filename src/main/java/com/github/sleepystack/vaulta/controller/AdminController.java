@@ -3,20 +3,35 @@ package com.github.sleepystack.vaulta.controller;
 import com.github.sleepystack.vaulta. dto.AccountResponseDTO;
 import com.github. sleepystack.vaulta.dto.AdminForcePassResetDTO;
 import com.github.sleepystack.vaulta.dto.AdminStatsResponse;
+import com.github.sleepystack.vaulta.dto.CursorPageDTO;
+import com.github.sleepystack.vaulta.dto.StatementRunDTO;
 import com.github.sleepystack.vaulta. dto.TransactionResponseDTO;
 import com.github.sleepystack.vaulta.dto.UserManagementDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.AccountType;
+import com.github.sleepystack.vaulta.entity.enumeration.ExportFormat;
+import com.github.sleepystack.vaulta.entity.enumeration.Role;
 import com. github.sleepystack.vaulta.entity.enumeration.Status;
+import com.github.sleepystack.vaulta.event.LedgerSseSink;
 import com.github.sleepystack.vaulta. service.AdminService;
+import com.github.sleepystack.vaulta.service.StatementBatchService;
+import com.github.sleepystack.vaulta.service.SubLedgerService;
+import com.github.sleepystack.vaulta.service.TransactionExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain. Pageable;
 import org. springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -25,6 +40,10 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final TransactionExportService transactionExportService;
+    private final LedgerSseSink ledgerSseSink;
+    private final StatementBatchService statementBatchService;
+    private final SubLedgerService subLedgerService;
 
     @GetMapping("/stats")
     public ResponseEntity<AdminStatsResponse> getSystemStats() {
@@ -32,8 +51,14 @@ public class AdminController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<UserManagementDTO>> getAllUsersForManagement() {
-        return ResponseEntity.ok(adminService.getAllUsersForManagement());
+    public ResponseEntity<CursorPageDTO<UserManagementDTO>> getUsersForManagement(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) String search
+    ) {
+        return ResponseEntity.ok(adminService.getUsersForManagement(cursor, size, status, role, search));
     }
 
     @PatchMapping("/users/{id}/status")
@@ -51,8 +76,14 @@ public class AdminController {
     }
 
     @GetMapping("/accounts")
-    public ResponseEntity<List<AccountResponseDTO>> getAllAccounts() {
-        return ResponseEntity.ok(adminService.getAllAccounts());
+    public ResponseEntity<CursorPageDTO<AccountResponseDTO>> getAccounts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) AccountType accountType,
+            @RequestParam(required = false) String search
+    ) {
+        return ResponseEntity.ok(adminService.getAccounts(cursor, size, status, accountType, search));
     }
 
     @PatchMapping("/accounts/{accountNumber}/status")
@@ -63,6 +94,14 @@ public class AdminController {
         return ResponseEntity.ok("Account " + accountNumber + " status updated to " + newStatus);
     }
 
+    @PatchMapping("/accounts/{accountNumber}/balance-slots")
+    public ResponseEntity<String> updateBalanceSlots(
+            @PathVariable String accountNumber,
+            @RequestParam int slots) {
+        subLedgerService.configure(accountNumber, slots);
+        return ResponseEntity.ok("Account " + accountNumber + " balance slots set to " + slots);
+    }
+
     @GetMapping("/transactions")
     public ResponseEntity<Page<TransactionResponseDTO>> getGlobalTransactionHistory(
             @RequestParam(defaultValue = "0") int page,
@@ -72,6 +111,44 @@ public class AdminController {
         return ResponseEntity.ok(adminService. getAllTransactions(pageable));
     }
 
+    @GetMapping("/transactions/cursor")
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getGlobalTransactionFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(adminService.getTransactionFeed(cursor, size));
+    }
+
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format
+    ) {
+        transactionExportService.checkRange(from, to);
+        StreamingResponseBody body = out -> transactionExportService.exportRange(from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/ledger/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLedger(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return ledgerSseSink.subscribe(lastEventId);
+    }
+
+    @PostMapping("/statements/{period}")
+    public ResponseEntity<StatementRunDTO> startStatementRun(@PathVariable YearMonth period) {
+        return ResponseEntity.accepted().body(statementBatchService.start(period));
+    }
+
+    @GetMapping("/statements/{period}")
+    public ResponseEntity<StatementRunDTO> getStatementRun(@PathVariable YearMonth period) {
+        return ResponseEntity.ok(statementBatchService.getRun(period));
+    }
+
     @PostMapping("/users/{userId}/promote")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> promoteUser(@PathVariable Long userId) {
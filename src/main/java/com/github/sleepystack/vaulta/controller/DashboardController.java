@@ -3,11 +3,13 @@ package com.github.sleepystack.vaulta.controller;
 import com.github.sleepystack.vaulta.dto.DashboardSummaryDTO;
 import com.github.sleepystack.vaulta.service.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/dashboard")
@@ -22,4 +24,9 @@ public class DashboardController {
         DashboardSummaryDTO summary = dashboardService.getDashboardSummary(userEmail);
         return ResponseEntity.ok(summary);
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard(Authentication authentication) {
+        return dashboardService.subscribe(authentication.getName());
+    }
+}
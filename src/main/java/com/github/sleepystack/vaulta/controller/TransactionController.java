@@ -1,7 +1,15 @@
 package com.github.sleepystack.vaulta.controller;
 
+import com.github.sleepystack.vaulta.dto.AsyncTransferStatusDTO;
+import com.github.sleepystack.vaulta.dto.BatchTransferRequestDTO;
+import com.github.sleepystack.vaulta.dto.BatchTransferResponseDTO;
+import com.github.sleepystack.vaulta.dto.CursorPageDTO;
 import com.github.sleepystack.vaulta.dto.TransactionDTO;
 import com.github.sleepystack.vaulta.dto.TransactionResponseDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.ExportFormat;
+import com.github.sleepystack.vaulta.service.AsyncTransferService;
+import com.github.sleepystack.vaulta.service.IdempotencyService;
+import com.github.sleepystack.vaulta.service.TransactionExportService;
 import com.github.sleepystack.vaulta.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +17,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -21,28 +34,78 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final AsyncTransferService asyncTransferService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/deposit")
-    public ResponseEntity<String> deposit(@Valid @RequestBody TransactionDTO t) {
-        transactionService.deposit(t.accountNumber(), t.amount());
-        return ResponseEntity.ok("Deposit of " + t.amount() + " successful.");
+    public ResponseEntity<String> deposit(
+            @Valid @RequestBody TransactionDTO t,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication authentication
+    ) {
+        return idempotencyService.execute(authentication.getName(), idempotencyKey, "deposit", t, () -> {
+            transactionService.deposit(t.accountNumber(), t.amount());
+            return ResponseEntity.ok("Deposit of " + t.amount() + " successful.");
+        });
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<String> withdraw(@Valid @RequestBody TransactionDTO t, Authentication authentication) {
-        transactionService.withdraw(t.accountNumber(), t.amount(), authentication.getName());
-        return ResponseEntity.ok("Withdrawal of " + t.amount() + " successful.");
+    public ResponseEntity<String> withdraw(
+            @Valid @RequestBody TransactionDTO t,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication authentication
+    ) {
+        return idempotencyService.execute(authentication.getName(), idempotencyKey, "withdraw", t, () -> {
+            transactionService.withdraw(t.accountNumber(), t.amount(), authentication.getName());
+            return ResponseEntity.ok("Withdrawal of " + t.amount() + " successful.");
+        });
     }
 
     @PostMapping("/transfer")
-    public ResponseEntity<String> transfer(@Valid @RequestBody TransactionDTO t, Authentication authentication) {
-        transactionService.transfer(
-                t.accountNumber(),
-                t.targetAccountNumber(),
-                t.amount(),
+    public ResponseEntity<String> transfer(
+            @Valid @RequestBody TransactionDTO t,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication authentication
+    ) {
+        return idempotencyService.execute(authentication.getName(), idempotencyKey, "transfer", t, () -> {
+            transactionService.transfer(
+                    t.accountNumber(),
+                    t.targetAccountNumber(),
+                    t.amount(),
+                    authentication.getName()
+            );
+            return ResponseEntity.ok("Successfully transferred " + t.amount() + " to " + t.targetAccountNumber());
+        });
+    }
+
+    @PostMapping("/transfer/async")
+    public ResponseEntity<AsyncTransferStatusDTO> transferAsync(@Valid @RequestBody TransactionDTO t, Authentication authentication) {
+        AsyncTransferStatusDTO status = asyncTransferService.submit(t, authentication.getName());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/transactions/transfer/async/" + status.transferId()))
+                .body(status);
+    }
+
+    @GetMapping("/transfer/async/{transferId}")
+    public ResponseEntity<AsyncTransferStatusDTO> getAsyncTransferStatus(
+            @PathVariable String transferId,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(asyncTransferService.getStatus(transferId, authentication.getName()));
+    }
+
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<BatchTransferResponseDTO> transferBatch(
+            @Valid @RequestBody BatchTransferRequestDTO request,
+            Authentication authentication
+    ) {
+        BatchTransferResponseDTO result = transactionService.transferBatch(
+                request.transfers(),
+                request.mode(),
                 authentication.getName()
         );
-        return ResponseEntity.ok("Successfully transferred " + t.amount() + " to " + t.targetAccountNumber());
+        return ResponseEntity.status(result.applied() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_CONTENT).body(result);
     }
 
     @GetMapping("/{accountNumber}/history")
@@ -57,4 +120,29 @@ public class TransactionController {
         Page<TransactionResponseDTO> history = transactionService.getHistory(accountNumber, currentUserEmail, pageable);
         return ResponseEntity.ok(history);
     }
+
+    @GetMapping("/{accountNumber}/history/cursor")
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getTransactionHistoryPage(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(transactionService.getHistoryPage(accountNumber, authentication.getName(), cursor, size));
+    }
+
+    @GetMapping("/{accountNumber}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            Authentication authentication
+    ) {
+        transactionExportService.checkAccountAccess(accountNumber, authentication.getName());
+        StreamingResponseBody body = out -> transactionExportService.exportAccountHistory(accountNumber, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + accountNumber + "-transactions." + format.getFileExtension() + "\"")
+                .body(body);
+    }
 }
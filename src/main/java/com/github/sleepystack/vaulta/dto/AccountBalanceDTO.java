@@ -0,0 +1,8 @@
+package com.github.sleepystack.vaulta.dto;
+
+import java.math.BigDecimal;
+
+public record AccountBalanceDTO(
+        String accountNumber,
+        BigDecimal balance
+) {}
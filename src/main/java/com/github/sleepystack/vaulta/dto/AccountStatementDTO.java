@@ -0,0 +1,16 @@
+package com.github.sleepystack.vaulta.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+public record AccountStatementDTO(
+        String accountNumber,
+        YearMonth period,
+        BigDecimal openingBalance,
+        BigDecimal closingBalance,
+        BigDecimal totalCredits,
+        BigDecimal totalDebits,
+        long transactionCount,
+        LocalDateTime generatedAt
+) {}
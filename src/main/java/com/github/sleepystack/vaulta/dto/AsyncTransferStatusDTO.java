@@ -0,0 +1,18 @@
+package com.github.sleepystack.vaulta.dto;
+
+import com.github.sleepystack.vaulta.entity.enumeration.TransferStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record AsyncTransferStatusDTO(
+        String transferId,
+        TransferStatus status,
+        String accountNumber,
+        String targetAccountNumber,
+        BigDecimal amount,
+        String errorCode,
+        String message,
+        LocalDateTime submittedAt,
+        LocalDateTime completedAt
+) {}
@@ -0,0 +1,10 @@
+package com.github.sleepystack.vaulta.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BalanceAtDTO(
+        String accountNumber,
+        LocalDateTime at,
+        BigDecimal balance
+) {}
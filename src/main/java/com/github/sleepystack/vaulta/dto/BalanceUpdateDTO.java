@@ -0,0 +1,9 @@
+package com.github.sleepystack.vaulta.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record BalanceUpdateDTO(
+        List<AccountBalanceDTO> accounts,
+        BigDecimal totalBalance
+) {}
@@ -0,0 +1,15 @@
+package com.github.sleepystack.vaulta.dto;
+
+import com.github.sleepystack.vaulta.entity.enumeration.BatchItemStatus;
+
+import java.math.BigDecimal;
+
+public record BatchTransferItemResultDTO(
+        int index,
+        String accountNumber,
+        String targetAccountNumber,
+        BigDecimal amount,
+        BatchItemStatus status,
+        String errorCode,
+        String message
+) {}
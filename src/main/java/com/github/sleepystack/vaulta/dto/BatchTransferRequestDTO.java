@@ -0,0 +1,22 @@
+package com.github.sleepystack.vaulta.dto;
+
+import com.github.sleepystack.vaulta.entity.enumeration.BatchMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchTransferRequestDTO(
+        BatchMode mode,
+
+        @NotEmpty(message = "At least one transfer is required")
+        @Size(max = 1000, message = "A batch may contain at most 1000 transfers")
+        List<@Valid TransactionDTO> transfers
+) {
+    public BatchTransferRequestDTO {
+        if (mode == null) {
+            mode = BatchMode.ALL_OR_NOTHING;
+        }
+    }
+}
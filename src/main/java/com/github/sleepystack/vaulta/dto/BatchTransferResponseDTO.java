@@ -0,0 +1,13 @@
+package com.github.sleepystack.vaulta.dto;
+
+import com.github.sleepystack.vaulta.entity.enumeration.BatchMode;
+
+import java.util.List;
+
+public record BatchTransferResponseDTO(
+        BatchMode mode,
+        boolean applied,
+        int succeeded,
+        int failed,
+        List<BatchTransferItemResultDTO> results
+) {}
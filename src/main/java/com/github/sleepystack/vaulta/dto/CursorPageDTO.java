@@ -0,0 +1,25 @@
+package com.github.sleepystack.vaulta.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageDTO<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static int clampPageSize(int size) {
+        return Math.clamp(size, 1, MAX_PAGE_SIZE);
+    }
+
+    // Callers fetch size + 1 rows; the extra row only tells us whether another page exists.
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(page, nextCursor, hasNext);
+    }
+}
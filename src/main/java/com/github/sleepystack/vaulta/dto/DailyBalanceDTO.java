@@ -0,0 +1,9 @@
+package com.github.sleepystack.vaulta.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyBalanceDTO(
+        LocalDate date,
+        BigDecimal closingBalance
+) {}
@@ -0,0 +1,13 @@
+package com.github.sleepystack.vaulta.dto;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+public record StatementRunDTO(
+        YearMonth period,
+        int partitions,
+        int completedPartitions,
+        long accountsProcessed,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt
+) {}
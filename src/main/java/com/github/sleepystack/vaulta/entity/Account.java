@@ -8,12 +8,20 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.SoftDelete;
 
 import java.math.BigDecimal;
 
 @Entity
 @SoftDelete
+// Only changed columns are written, so a status change can't put back a balance the sub-ledger fold just moved.
+@DynamicUpdate
+// Only the number-to-id mapping is cached: balances are also written by native SQL, so row data never is.
+@NaturalIdCache(region = "account-natural-ids")
 @Table(name = "accounts")
 @Getter
 @Setter
@@ -24,13 +32,23 @@ public class Account {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String accountNumber;
 
     @Column(nullable = false)
     private BigDecimal balance;
 
-    @ManyToOne
+    // Number of sub-ledger slots credits are spread over; 0 for ordinary accounts.
+    @Column(nullable = false)
+    private int balanceSlots;
+
+    // Credits still sitting in sub-ledger slots, not yet folded into balance.
+    @Formula("(SELECT COALESCE(SUM(s.balance), 0) FROM account_balance_slots s WHERE s.account_number = account_number)")
+    private BigDecimal slottedBalance;
+
+    // Owner checks resolve the account by natural id and take the user from the "users" cache region; listings batch-fetch it.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -42,6 +60,10 @@ public class Account {
     @Column(nullable = false)
     private Status status;
 
+    public BigDecimal getTotalBalance() {
+        return slottedBalance != null ? balance.add(slottedBalance) : balance;
+    }
+
     public void ensureActive() {
         if (this.status != Status.ACTIVE) {
             throw new BusinessLogicException("Account " + this.accountNumber + " is " + this.status);
@@ -0,0 +1,53 @@
+package com.github.sleepystack.vaulta.entity;
+
+import com.github.sleepystack.vaulta.entity.enumeration.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ledger_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_outbox_seq")
+    @SequenceGenerator(name = "ledger_outbox_seq", sequenceName = "ledger_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private TransactionType type;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(updatable = false)
+    private String fromAccountNumber;
+
+    @Column(updatable = false)
+    private String toAccountNumber;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    public static LedgerOutboxEvent of(Transaction t) {
+        return LedgerOutboxEvent.builder()
+                .transactionId(t.getId())
+                .type(t.getType())
+                .amount(t.getAmount())
+                .fromAccountNumber(t.getFromAccountNumber())
+                .toAccountNumber(t.getToAccountNumber())
+                .occurredAt(t.getTimestamp())
+                .build();
+    }
+}
@@ -5,6 +5,8 @@ import com.github.sleepystack.vaulta.entity.enumeration.Status;
 import com.github.sleepystack.vaulta.exception.BusinessLogicException;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SoftDelete;
 
 import java.time.LocalDateTime;
@@ -12,6 +14,8 @@ import java.util.List;
 
 @Entity
 @SoftDelete
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 @Builder
 @Getter
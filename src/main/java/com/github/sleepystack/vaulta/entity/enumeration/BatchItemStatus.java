@@ -0,0 +1,5 @@
+package com.github.sleepystack.vaulta.entity.enumeration;
+
+public enum BatchItemStatus {
+    APPLIED, FAILED, NOT_APPLIED
+}
@@ -0,0 +1,5 @@
+package com.github.sleepystack.vaulta.entity.enumeration;
+
+public enum BatchMode {
+    ALL_OR_NOTHING, BEST_EFFORT
+}
@@ -0,0 +1,3 @@
+package com.github.sleepystack.vaulta.event;
+
+public record AccountOpenedEvent(String email, String accountNumber) {}
@@ -0,0 +1,25 @@
+package com.github.sleepystack.vaulta.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Exposes committed ledger events to in-process @EventListener beans (notifications, fraud checks, ...).
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "application-events";
+    }
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
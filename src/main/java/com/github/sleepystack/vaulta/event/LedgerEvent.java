@@ -0,0 +1,16 @@
+package com.github.sleepystack.vaulta.event;
+
+import com.github.sleepystack.vaulta.entity.enumeration.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record LedgerEvent(
+        long sequence,
+        long transactionId,
+        TransactionType type,
+        BigDecimal amount,
+        String fromAccountNumber,
+        String toAccountNumber,
+        LocalDateTime occurredAt
+) {}
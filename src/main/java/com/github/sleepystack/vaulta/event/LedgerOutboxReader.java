@@ -0,0 +1,42 @@
+package com.github.sleepystack.vaulta.event;
+
+import com.github.sleepystack.vaulta.entity.enumeration.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Reads sequenced outbox rows in delivery order; rows are only visible here once the relay has sequenced them.
+@Component
+@RequiredArgsConstructor
+public class LedgerOutboxReader {
+
+    private static final RowMapper<LedgerEvent> EVENT_MAPPER = (rs, rowNum) -> new LedgerEvent(
+            rs.getLong("delivery_seq"),
+            rs.getLong("transaction_id"),
+            TransactionType.valueOf(rs.getString("type")),
+            rs.getBigDecimal("amount"),
+            rs.getString("from_account_number"),
+            rs.getString("to_account_number"),
+            rs.getTimestamp("occurred_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<LedgerEvent> after(long sequence, int limit) {
+        return jdbcTemplate.query("""
+                SELECT delivery_seq, transaction_id, type, amount, from_account_number, to_account_number, occurred_at
+                FROM ledger_outbox
+                WHERE delivery_seq > ?
+                ORDER BY delivery_seq
+                LIMIT ?
+                """, EVENT_MAPPER, sequence, limit);
+    }
+
+    public long tail() {
+        Long tail = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(delivery_seq), 0) FROM ledger_outbox", Long.class);
+        return tail == null ? 0 : tail;
+    }
+}
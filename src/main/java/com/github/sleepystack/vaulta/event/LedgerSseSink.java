@@ -0,0 +1,105 @@
+package com.github.sleepystack.vaulta.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams ledger events to admin clients connected to this node. The SSE event id is the delivery
+ * sequence, so a reconnecting client sends Last-Event-ID and gets the gap replayed from the outbox.
+ */
+@Slf4j
+@Component
+public class LedgerSseSink implements OutboxSink {
+
+    private static final int REPLAY_LIMIT = 1000;
+
+    private final LedgerOutboxReader reader;
+    private final Duration timeout;
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+
+    public LedgerSseSink(
+            LedgerOutboxReader reader,
+            @Value("${application.outbox.sse-timeout:30m}") Duration timeout
+    ) {
+        this.reader = reader;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "admin-sse";
+    }
+
+    @Override
+    public boolean isNodeLocal() {
+        return true;
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        // Registered before the replay so nothing published in between is missed; clients dedupe by id.
+        emitters.add(emitter);
+
+        if (lastEventId != null) {
+            for (LedgerEvent event : reader.after(lastEventId, REPLAY_LIMIT)) {
+                if (!send(emitter, event)) {
+                    break;
+                }
+            }
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        for (SseEmitter emitter : emitters) {
+            for (LedgerEvent event : events) {
+                if (!send(emitter, event)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.sse-heartbeat:20s}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                drop(emitter, e);
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, LedgerEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.sequence()))
+                    .name("ledger")
+                    .data(event));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            drop(emitter, e);
+            return false;
+        }
+    }
+
+    private void drop(SseEmitter emitter, Exception cause) {
+        emitters.remove(emitter);
+        log.debug("Dropping ledger stream subscriber: {}", cause.getMessage());
+        emitter.completeWithError(cause);
+    }
+}
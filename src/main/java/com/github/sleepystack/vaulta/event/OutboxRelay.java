@@ -0,0 +1,153 @@
+package com.github.sleepystack.vaulta.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves committed ledger_outbox rows to the registered {@link OutboxSink}s.
+ * <p>
+ * Rows are first stamped with a delivery sequence by whichever node holds the sequencer lock, so the
+ * sequence follows commit order. Each sink then reads past its own cursor: shared sinks keep it in
+ * outbox_checkpoints and are fed by one node at a time, node-local sinks keep it in memory.
+ * The cursor only moves after a sink accepted a batch, which makes delivery at-least-once.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final long SEQUENCER_LOCK_ID = 0x7661756c7461L;
+    private static final int SINK_LOCK_CLASS = 0x0b0c;
+    private static final int MAX_ROUNDS = 10;
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerOutboxReader reader;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration retention;
+    private final Map<String, Long> localCursors = new ConcurrentHashMap<>();
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            LedgerOutboxReader reader,
+            List<OutboxSink> sinks,
+            @Value("${application.outbox.batch-size:500}") int batchSize,
+            @Value("${application.outbox.retention:7d}") Duration retention
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.reader = reader;
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval:500ms}")
+    public void relay() {
+        int sequenced;
+        int rounds = 0;
+        do {
+            sequenced = sequencePending();
+        } while (sequenced == batchSize && ++rounds < MAX_ROUNDS);
+
+        for (OutboxSink sink : sinks) {
+            try {
+                if (sink.isNodeLocal()) {
+                    deliverLocal(sink);
+                } else {
+                    deliverShared(sink);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Outbox sink {} failed, batch will be retried: {}", sink.name(), e.getMessage());
+            }
+        }
+    }
+
+    private int sequencePending() {
+        Integer sequenced = transactionTemplate.execute(status -> {
+            if (!tryLock("SELECT pg_try_advisory_xact_lock(?)", SEQUENCER_LOCK_ID)) {
+                return 0;
+            }
+            return jdbcTemplate.update("""
+                    UPDATE ledger_outbox o SET delivery_seq = s.seq, published_at = CURRENT_TIMESTAMP
+                    FROM (
+                        SELECT id, nextval('ledger_outbox_delivery_seq') AS seq
+                        FROM (SELECT id FROM ledger_outbox WHERE delivery_seq IS NULL ORDER BY id LIMIT ?) pending
+                    ) s
+                    WHERE o.id = s.id
+                    """, batchSize);
+        });
+        return sequenced == null ? 0 : sequenced;
+    }
+
+    private void deliverShared(OutboxSink sink) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLock("SELECT pg_try_advisory_xact_lock(?, hashtext(?))", SINK_LOCK_CLASS, sink.name())) {
+                return;
+            }
+            Long checkpoint = jdbcTemplate.query(
+                    "SELECT last_delivery_seq FROM outbox_checkpoints WHERE sink = ?",
+                    rs -> rs.next() ? rs.getLong(1) : 0L,
+                    sink.name());
+            List<LedgerEvent> events = reader.after(checkpoint == null ? 0 : checkpoint, batchSize);
+            if (events.isEmpty()) {
+                return;
+            }
+
+            sink.publish(events);
+            jdbcTemplate.update("""
+                            INSERT INTO outbox_checkpoints (sink, last_delivery_seq) VALUES (?, ?)
+                            ON CONFLICT (sink) DO UPDATE SET
+                                last_delivery_seq = EXCLUDED.last_delivery_seq,
+                                updated_at = CURRENT_TIMESTAMP
+                            """,
+                    sink.name(), events.getLast().sequence());
+        });
+    }
+
+    private void deliverLocal(OutboxSink sink) {
+        long cursor = localCursors.computeIfAbsent(sink.name(), name -> reader.tail());
+        List<LedgerEvent> events = reader.after(cursor, batchSize);
+        if (events.isEmpty()) {
+            return;
+        }
+        sink.publish(events);
+        localCursors.put(sink.name(), events.getLast().sequence());
+    }
+
+    private boolean tryLock(String sql, Object... args) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, args));
+    }
+
+    // Rows past the retention window are dropped once every shared sink has checkpointed beyond them.
+    @Scheduled(fixedDelayString = "${application.outbox.purge-interval:1h}")
+    public void purgePublished() {
+        int removed;
+        int total = 0;
+        do {
+            removed = jdbcTemplate.update("""
+                    DELETE FROM ledger_outbox WHERE ctid IN (
+                        SELECT ctid FROM ledger_outbox
+                        WHERE published_at < CURRENT_TIMESTAMP - make_interval(secs => ?)
+                          AND delivery_seq <= (SELECT COALESCE(MIN(last_delivery_seq), 0) FROM outbox_checkpoints)
+                        LIMIT ?
+                    )
+                    """, retention.toSeconds(), PURGE_BATCH_SIZE);
+            total += removed;
+        } while (removed == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Purged {} published outbox rows", total);
+        }
+    }
+}
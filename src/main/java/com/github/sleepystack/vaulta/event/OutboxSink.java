@@ -0,0 +1,22 @@
+package com.github.sleepystack.vaulta.event;
+
+import java.util.List;
+
+/**
+ * Destination for committed ledger events. Delivery is at-least-once: a batch may be handed over
+ * again after a failure or restart, so sinks must tolerate duplicates (events carry a sequence).
+ */
+public interface OutboxSink {
+
+    String name();
+
+    /**
+     * Shared sinks are fed by one node at a time and checkpoint in the database. Node-local sinks
+     * (for example connections held by this instance) are fed on every node and start at the tail.
+     */
+    default boolean isNodeLocal() {
+        return false;
+    }
+
+    void publish(List<LedgerEvent> events);
+}
@@ -0,0 +1,230 @@
+package com.github.sleepystack.vaulta.event;
+
+import com.github.sleepystack.vaulta.dto.AccountBalanceDTO;
+import com.github.sleepystack.vaulta.dto.BalanceUpdateDTO;
+import com.github.sleepystack.vaulta.dto.TransactionResponseDTO;
+import com.github.sleepystack.vaulta.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes balance and transaction updates to users connected to this node, replacing dashboard polling.
+ * Connections are async servlet requests, so an idle subscriber costs an emitter and a few map entries,
+ * not a thread. Subscribers are indexed by account number; a batch of ledger events costs one balance
+ * query covering only the accounts somebody is currently watching. A user's sessions are kept oldest
+ * first and only touched inside {@code byUser.compute}, so the per-user cap evicts the oldest stream.
+ */
+@Slf4j
+@Component
+public class UserStreamSink implements OutboxSink {
+
+    private final AccountRepository accountRepository;
+    private final Duration timeout;
+    private final int maxConnectionsPerUser;
+    private final Map<String, Set<Subscriber>> byAccount = new ConcurrentHashMap<>();
+    private final Map<String, Deque<Subscriber>> byUser = new ConcurrentHashMap<>();
+
+    public UserStreamSink(
+            AccountRepository accountRepository,
+            @Value("${application.user-stream.timeout:30m}") Duration timeout,
+            @Value("${application.user-stream.max-connections-per-user:5}") int maxConnectionsPerUser
+    ) {
+        this.accountRepository = accountRepository;
+        this.timeout = timeout;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    @Override
+    public String name() {
+        return "user-stream";
+    }
+
+    @Override
+    public boolean isNodeLocal() {
+        return true;
+    }
+
+    public SseEmitter subscribe(String email, List<String> accountNumbers) {
+        Subscriber subscriber = new Subscriber(email, List.copyOf(accountNumbers), new SseEmitter(timeout.toMillis()));
+        SseEmitter emitter = subscriber.emitter();
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unregister(subscriber));
+
+        List<Subscriber> evicted = new ArrayList<>();
+        byUser.compute(email, (key, sessions) -> {
+            Deque<Subscriber> updated = sessions != null ? sessions : new ArrayDeque<>();
+            while (updated.size() >= maxConnectionsPerUser) {
+                evicted.add(updated.pollFirst());
+            }
+            updated.addLast(subscriber);
+            return updated;
+        });
+        for (String accountNumber : subscriber.accountNumbers()) {
+            byAccount.computeIfAbsent(accountNumber, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        // Close the oldest streams rather than letting one user hold unbounded connections.
+        for (Subscriber oldest : evicted) {
+            unregister(oldest);
+            oldest.emitter().complete();
+        }
+
+        // Start from a fresh snapshot so a reconnecting client never shows a stale balance.
+        Map<String, BigDecimal> balances = loadBalances(subscriber.accountNumbers());
+        send(subscriber, "balance", balanceUpdate(subscriber, balances));
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        Map<Subscriber, List<TransactionResponseDTO>> pending = new LinkedHashMap<>();
+        Set<String> watchedAccounts = new HashSet<>();
+        for (LedgerEvent event : events) {
+            TransactionResponseDTO transaction = toResponse(event);
+            Set<Subscriber> recipients = new HashSet<>();
+            collect(event.fromAccountNumber(), recipients);
+            collect(event.toAccountNumber(), recipients);
+            for (Subscriber subscriber : recipients) {
+                pending.computeIfAbsent(subscriber, key -> new ArrayList<>()).add(transaction);
+                watchedAccounts.addAll(subscriber.accountNumbers());
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, BigDecimal> balances = loadBalances(watchedAccounts);
+        pending.forEach((subscriber, transactions) -> {
+            for (TransactionResponseDTO transaction : transactions) {
+                if (!send(subscriber, "transaction", transaction)) {
+                    return;
+                }
+            }
+            send(subscriber, "balance", balanceUpdate(subscriber, balances));
+        });
+    }
+
+    // The account list of a stream is fixed when it opens, so streams of a user who opened an account are closed
+    // and the client reconnects with the new list.
+    @TransactionalEventListener
+    public void onAccountOpened(AccountOpenedEvent event) {
+        for (Subscriber subscriber : sessionsOf(event.email())) {
+            unregister(subscriber);
+            subscriber.emitter().complete();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.user-stream.heartbeat:20s}")
+    public void heartbeat() {
+        for (String email : byUser.keySet()) {
+            for (Subscriber subscriber : sessionsOf(email)) {
+                try {
+                    subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscriber, e);
+                }
+            }
+        }
+    }
+
+    private List<Subscriber> sessionsOf(String email) {
+        List<Subscriber> snapshot = new ArrayList<>();
+        byUser.computeIfPresent(email, (key, sessions) -> {
+            snapshot.addAll(sessions);
+            return sessions;
+        });
+        return snapshot;
+    }
+
+    private void collect(String accountNumber, Set<Subscriber> recipients) {
+        if (accountNumber != null) {
+            Set<Subscriber> watchers = byAccount.get(accountNumber);
+            if (watchers != null) {
+                recipients.addAll(watchers);
+            }
+        }
+    }
+
+    private Map<String, BigDecimal> loadBalances(Collection<String> accountNumbers) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        if (!accountNumbers.isEmpty()) {
+            for (AccountBalanceDTO row : accountRepository.findBalances(accountNumbers)) {
+                balances.put(row.accountNumber(), row.balance());
+            }
+        }
+        return balances;
+    }
+
+    private BalanceUpdateDTO balanceUpdate(Subscriber subscriber, Map<String, BigDecimal> balances) {
+        List<AccountBalanceDTO> accounts = subscriber.accountNumbers().stream()
+                .filter(balances::containsKey)
+                .map(accountNumber -> new AccountBalanceDTO(accountNumber, balances.get(accountNumber)))
+                .toList();
+        BigDecimal total = accounts.stream()
+                .map(AccountBalanceDTO::balance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new BalanceUpdateDTO(accounts, total);
+    }
+
+    private TransactionResponseDTO toResponse(LedgerEvent event) {
+        return new TransactionResponseDTO(
+                event.transactionId(),
+                event.type().name(),
+                event.amount(),
+                event.fromAccountNumber() != null ? event.fromAccountNumber() : "DEPOSIT",
+                event.toAccountNumber() != null ? event.toAccountNumber() : "WITHDRAWAL",
+                event.occurredAt()
+        );
+    }
+
+    private boolean send(Subscriber subscriber, String name, Object data) {
+        try {
+            subscriber.emitter().send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+            return false;
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        unregister(subscriber);
+        log.debug("Dropping stream of {}: {}", subscriber.email(), cause.getMessage());
+        subscriber.emitter().completeWithError(cause);
+    }
+
+    private void unregister(Subscriber subscriber) {
+        byUser.computeIfPresent(subscriber.email(), (email, sessions) -> {
+            sessions.remove(subscriber);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        for (String accountNumber : subscriber.accountNumbers()) {
+            byAccount.computeIfPresent(accountNumber, (key, watchers) -> {
+                watchers.remove(subscriber);
+                return watchers.isEmpty() ? null : watchers;
+            });
+        }
+    }
+
+    // Emitters compare by identity, so two tabs of the same user are two subscribers.
+    private record Subscriber(String email, List<String> accountNumbers, SseEmitter emitter) {}
+}
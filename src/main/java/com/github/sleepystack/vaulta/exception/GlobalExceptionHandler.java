@@ -2,6 +2,7 @@ package com.github.sleepystack.vaulta.exception;
 
 import com.github.sleepystack.vaulta.dto.ErrorResponseDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -52,6 +53,13 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(HttpStatus.BAD_REQUEST, "VALIDATION_FAILED", errorMessage, request.getRequestURI());
     }
 
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleLockFailure(PessimisticLockingFailureException ex, HttpServletRequest request) {
+        log.warn("Lock contention on {}: {}", request.getRequestURI(), ex.getMessage());
+        return buildResponseEntity(HttpStatus.CONFLICT, "ACCOUNT_BUSY",
+                "The account is busy with another operation. Please retry.", request.getRequestURI());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGeneralException(Exception ex, HttpServletRequest request) {
         log.error("CRITICAL ERROR: ", ex);
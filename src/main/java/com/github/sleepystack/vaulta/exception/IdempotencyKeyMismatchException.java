@@ -0,0 +1,10 @@
+package com.github.sleepystack.vaulta.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class IdempotencyKeyMismatchException extends BankException {
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("Idempotency-Key '" + idempotencyKey + "' was already used for a different request",
+                HttpStatus.UNPROCESSABLE_CONTENT, "IDEMPOTENCY_KEY_MISMATCH");
+    }
+}
@@ -0,0 +1,9 @@
+package com.github.sleepystack.vaulta.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class StatementNotFoundException extends BankException {
+    public StatementNotFoundException(String message) {
+        super(message, HttpStatus.NOT_FOUND, "STATEMENT_NOT_FOUND");
+    }
+}
@@ -0,0 +1,9 @@
+package com.github.sleepystack.vaulta.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TransferNotFoundException extends BankException {
+    public TransferNotFoundException(String transferId) {
+        super("Transfer not found: " + transferId, HttpStatus.NOT_FOUND, "TRANSFER_NOT_FOUND");
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.sleepystack.vaulta.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TransferQueueFullException extends BankException {
+    public TransferQueueFullException() {
+        super("Too many transfers are waiting to be processed. Please retry shortly.",
+                HttpStatus.SERVICE_UNAVAILABLE, "TRANSFER_QUEUE_FULL");
+    }
+}
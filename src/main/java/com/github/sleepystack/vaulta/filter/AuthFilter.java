@@ -2,6 +2,8 @@ package com.github.sleepystack.vaulta.filter;
 
 import com.github.sleepystack.vaulta.entity.SecureUser;
 import com.github.sleepystack.vaulta.service.JwtService;
+import com.github.sleepystack.vaulta.service.PrincipalCache;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +28,7 @@ public class AuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -35,21 +38,27 @@ public class AuthFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        final JwtService.VerifiedToken token;
+        try {
+            token = jwtService.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String userEmail = token.subject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails = principalCache.get(userEmail, userDetailsService::loadUserByUsername);
 
-            Integer tokenVersionInJwt = jwtService.extractTokenVersion(jwt);
+            Integer tokenVersionInJwt = token.version();
 
             boolean isVersionValid = false;
             if (userDetails instanceof SecureUser secureUser) {
@@ -57,7 +66,7 @@ public class AuthFilter extends OncePerRequestFilter {
                 isVersionValid = (tokenVersionInJwt != null && tokenVersionInJwt == currentDbVersion);
             }
 
-            if (jwtService.isTokenValid(jwt, userDetails) && isVersionValid) {
+            if (isVersionValid) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -65,7 +74,7 @@ public class AuthFilter extends OncePerRequestFilter {
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-            } else if (!isVersionValid) {
+            } else {
                 log.warn("Revoked token detected for user: {}", userEmail);
             }
         }
@@ -0,0 +1,110 @@
+package com.github.sleepystack.vaulta.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token buckets shared by every node through the rate_limit_buckets table, using Bucket4j's
+ * select-for-update proxy manager. Each node keeps a bounded cache of bucket proxies and batches
+ * consumption locally: it only synchronizes with the database after a few tokens or a short delay,
+ * so most requests never touch the database. The trade-off is that a node can briefly over-admit
+ * by up to max-unsynced-tokens per client before the shared state catches up.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.rate-limit.store", havingValue = "jdbc")
+public class JdbcRateLimiter implements RateLimiter {
+
+    private final ProxyManager<String> proxyManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration idleEviction;
+    private final DelayParameters delayParameters;
+    private final Map<RouteGroup, BucketConfiguration> configurations = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Cache<String, Bucket>> buckets = new EnumMap<>(RouteGroup.class);
+
+    public JdbcRateLimiter(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            RateLimitPolicy policy,
+            @Value("${application.rate-limit.max-clients:100000}") int maxClients,
+            @Value("${application.rate-limit.idle-eviction:10m}") Duration idleEviction,
+            @Value("${application.rate-limit.jdbc.max-unsynced-tokens:5}") long maxUnsyncedTokens,
+            @Value("${application.rate-limit.jdbc.max-unsynced-time:1s}") Duration maxUnsyncedTime
+    ) {
+        this.proxyManager = new PostgreSQLSelectForUpdateBasedProxyManager<>(SQLProxyConfiguration.builder()
+                .withTableSettings(BucketTableSettings.customSettings("rate_limit_buckets", "id", "state"))
+                .withPrimaryKeyMapper(PrimaryKeyMapper.STRING)
+                .build(dataSource));
+        this.jdbcTemplate = jdbcTemplate;
+        this.idleEviction = idleEviction;
+        this.delayParameters = maxUnsyncedTokens > 0 ? new DelayParameters(maxUnsyncedTokens, maxUnsyncedTime) : null;
+
+        for (RouteGroup group : RouteGroup.values()) {
+            RateLimitPolicy.Limit limit = policy.limitFor(group);
+            configurations.put(group, BucketConfiguration.builder()
+                    .addLimit(Bandwidth.builder()
+                            .capacity(limit.capacity())
+                            .refillGreedy(limit.capacity(), limit.period())
+                            .build())
+                    .build());
+            buckets.put(group, Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(idleEviction)
+                    .build());
+        }
+    }
+
+    @Override
+    public boolean tryConsume(RouteGroup group, String clientKey) {
+        try {
+            Bucket bucket = buckets.get(group).get(clientKey, key -> remoteBucket(group, key));
+            return bucket.tryConsume(1);
+        } catch (RuntimeException e) {
+            // Rate limiting protects availability; an unreachable store should not take the API down with it.
+            log.warn("Rate limit store unavailable, allowing request: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private Bucket remoteBucket(RouteGroup group, String clientKey) {
+        RemoteBucketBuilder<String> builder = proxyManager.builder();
+        if (delayParameters != null) {
+            builder = builder.withOptimization(Optimizations.delaying(delayParameters));
+        }
+        BucketConfiguration configuration = configurations.get(group);
+        return builder.build(group.name().toLowerCase(Locale.ROOT) + ":" + clientKey, () -> configuration);
+    }
+
+    @Scheduled(fixedDelayString = "${application.rate-limit.jdbc.cleanup-interval:5m}")
+    public void purgeIdleBuckets() {
+        int removed = jdbcTemplate.update(
+                "DELETE FROM rate_limit_buckets WHERE updated_at < CURRENT_TIMESTAMP - make_interval(secs => ?)",
+                idleEviction.toSeconds());
+        if (removed > 0) {
+            log.info("Purged {} idle rate limit buckets", removed);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.sleepystack.vaulta.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory token buckets per route group and client key.
+ * <p>
+ * Buckets live in lock-striped, access-ordered shards with a hard per-shard entry cap, so memory stays
+ * bounded no matter how many distinct clients show up. A bucket is two primitives; looking up and
+ * consuming from an existing bucket allocates nothing. Idle buckets are dropped when new ones are
+ * created, and the least recently used bucket goes first once a shard is full.
+ */
+@Component
+@ConditionalOnProperty(name = "application.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final int SHARDS = 64;
+
+    private final Map<RouteGroup, Rate> rates = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Shard[]> tables = new EnumMap<>(RouteGroup.class);
+    private final long idleNanos;
+
+    public LocalRateLimiter(
+            RateLimitPolicy policy,
+            @Value("${application.rate-limit.max-clients:100000}") int maxClients,
+            @Value("${application.rate-limit.idle-eviction:10m}") Duration idleEviction
+    ) {
+        this.idleNanos = idleEviction.toNanos();
+
+        int perShard = Math.max(1, maxClients / SHARDS);
+        for (RouteGroup group : RouteGroup.values()) {
+            rates.put(group, Rate.of(policy.limitFor(group)));
+            Shard[] shards = new Shard[SHARDS];
+            for (int i = 0; i < SHARDS; i++) {
+                shards[i] = new Shard(perShard);
+            }
+            tables.put(group, shards);
+        }
+    }
+
+    @Override
+    public boolean tryConsume(RouteGroup group, String clientKey) {
+        Rate rate = rates.get(group);
+        Shard shard = tables.get(group)[spread(clientKey.hashCode()) & (SHARDS - 1)];
+        long now = System.nanoTime();
+
+        synchronized (shard) {
+            TokenState state = shard.get(clientKey);
+            if (state == null) {
+                shard.evictIdle(now, idleNanos);
+                state = new TokenState(rate.capacity(), now);
+                shard.put(clientKey, state);
+            }
+            return state.tryConsume(rate, now);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private record Rate(long capacity, double tokensPerNano) {
+        static Rate of(RateLimitPolicy.Limit limit) {
+            return new Rate(limit.capacity(), (double) limit.capacity() / limit.period().toNanos());
+        }
+    }
+
+    private static final class TokenState {
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenState(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        boolean tryConsume(Rate rate, long now) {
+            tokens = Math.min(rate.capacity(), tokens + (now - lastRefillNanos) * rate.tokensPerNano());
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+
+    private static final class Shard extends LinkedHashMap<String, TokenState> {
+        private static final int MAX_IDLE_SWEEP = 4;
+
+        private final int maxEntries;
+
+        Shard(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenState> eldest) {
+            return size() > maxEntries;
+        }
+
+        // Access order puts the least recently used buckets first, so idle ones are at the head.
+        void evictIdle(long now, long idleNanos) {
+            Iterator<TokenState> it = values().iterator();
+            for (int i = 0; i < MAX_IDLE_SWEEP && it.hasNext(); i++) {
+                if (now - it.next().lastRefillNanos < idleNanos) {
+                    return;
+                }
+                it.remove();
+            }
+        }
+    }
+}
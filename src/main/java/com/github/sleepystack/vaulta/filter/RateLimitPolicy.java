@@ -0,0 +1,33 @@
+package com.github.sleepystack.vaulta.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class RateLimitPolicy {
+
+    private final Map<RouteGroup, Limit> limits = new EnumMap<>(RouteGroup.class);
+
+    public RateLimitPolicy(
+            @Value("${application.rate-limit.auth.capacity:10}") int authCapacity,
+            @Value("${application.rate-limit.auth.period:1m}") Duration authPeriod,
+            @Value("${application.rate-limit.transactions.capacity:30}") int transactionsCapacity,
+            @Value("${application.rate-limit.transactions.period:1m}") Duration transactionsPeriod,
+            @Value("${application.rate-limit.reads.capacity:120}") int readsCapacity,
+            @Value("${application.rate-limit.reads.period:1m}") Duration readsPeriod
+    ) {
+        limits.put(RouteGroup.AUTH, new Limit(authCapacity, authPeriod));
+        limits.put(RouteGroup.TRANSACTIONS, new Limit(transactionsCapacity, transactionsPeriod));
+        limits.put(RouteGroup.READS, new Limit(readsCapacity, readsPeriod));
+    }
+
+    public Limit limitFor(RouteGroup group) {
+        return limits.get(group);
+    }
+
+    public record Limit(long capacity, Duration period) {}
+}
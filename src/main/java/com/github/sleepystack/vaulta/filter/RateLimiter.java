@@ -0,0 +1,6 @@
+package com.github.sleepystack.vaulta.filter;
+
+public interface RateLimiter {
+
+    boolean tryConsume(RouteGroup group, String clientKey);
+}
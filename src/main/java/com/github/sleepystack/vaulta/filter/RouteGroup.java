@@ -0,0 +1,18 @@
+package com.github.sleepystack.vaulta.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum RouteGroup {
+    AUTH, TRANSACTIONS, READS;
+
+    public static RouteGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/v1/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/v1/transactions/") && !"GET".equals(request.getMethod())) {
+            return TRANSACTIONS;
+        }
+        return READS;
+    }
+}
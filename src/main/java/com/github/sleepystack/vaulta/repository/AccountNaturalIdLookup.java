@@ -0,0 +1,10 @@
+package com.github.sleepystack.vaulta.repository;
+
+import com.github.sleepystack.vaulta.entity.Account;
+
+import java.util.Optional;
+
+public interface AccountNaturalIdLookup {
+    // Resolved through the natural-id cache, so a repeated lookup is a single primary-key select.
+    Optional<Account> findByAccountNumber(String accountNumber);
+}
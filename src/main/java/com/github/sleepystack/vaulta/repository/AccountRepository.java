@@ -1,14 +1,56 @@
 package com.github.sleepystack.vaulta.repository;
 
+import com.github.sleepystack.vaulta.dto.AccountBalanceDTO;
+import com.github.sleepystack.vaulta.dto.AccountResponseDTO;
 import com.github.sleepystack.vaulta.entity.Account;
+import com.github.sleepystack.vaulta.entity.enumeration.AccountType;
+import com.github.sleepystack.vaulta.entity.enumeration.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountNaturalIdLookup {
     List<Account> findByUserId(Long userId);
-    Optional<Account> findByAccountNumber(String accountNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    // Rows are locked in account-number order so concurrent transfers between the same accounts can't deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT a FROM Account a WHERE a.accountNumber IN :accountNumbers ORDER BY a.accountNumber")
+    List<Account> findAllByAccountNumberInForUpdate(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("""
+            SELECT new com.github.sleepystack.vaulta.dto.AccountResponseDTO(a.accountNumber, a.accountType, a.balance + a.slottedBalance, u.username)
+            FROM Account a JOIN a.user u
+            WHERE a.accountNumber > :afterAccountNumber
+              AND (:status IS NULL OR a.status = :status)
+              AND (:accountType IS NULL OR a.accountType = :accountType)
+              AND (:search IS NULL OR a.accountNumber LIKE :search ESCAPE '\\' OR LOWER(u.username) LIKE :search ESCAPE '\\')
+            ORDER BY a.accountNumber
+            """)
+    List<AccountResponseDTO> findAdminPage(
+            @Param("afterAccountNumber") String afterAccountNumber,
+            @Param("status") Status status,
+            @Param("accountType") AccountType accountType,
+            @Param("search") String search,
+            Pageable pageable
+    );
+
+    @Query("SELECT new com.github.sleepystack.vaulta.dto.AccountBalanceDTO(a.accountNumber, a.balance + a.slottedBalance) FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<AccountBalanceDTO> findBalances(@Param("accountNumbers") Collection<String> accountNumbers);
 }
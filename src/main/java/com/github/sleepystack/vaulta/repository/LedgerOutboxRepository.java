@@ -0,0 +1,9 @@
+package com.github.sleepystack.vaulta.repository;
+
+import com.github.sleepystack.vaulta.entity.LedgerOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LedgerOutboxRepository extends JpaRepository<LedgerOutboxEvent, Long> {
+}
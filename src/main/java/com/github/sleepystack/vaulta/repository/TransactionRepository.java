@@ -1,23 +1,87 @@
 package com.github.sleepystack.vaulta.repository;
 
 import com.github.sleepystack.vaulta.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    List<Transaction> findByFromAccountNumberOrToAccountNumberOrderByTimestampDesc(
-            String fromAccountNumber,
-            String toAccountNumber
+    @Query("SELECT t FROM Transaction t WHERE t.fromAccountNumber = :acc OR t.toAccountNumber = :acc ORDER BY t.timestamp DESC")
+    Page<Transaction> findByAccountNumber(@Param("acc") String accountNumber, Pageable pageable);
+
+    // One pair of branches per account, each an index-ordered top-N over its (account, timestamp) index, so the cost
+    // is bounded by accounts * limit rather than by history; an IN list would make Postgres sort every match.
+    // DISTINCT ON drops the second copy of a transfer between two of the listed accounts.
+    @Query(value = """
+            SELECT DISTINCT ON (t.timestamp, t.id) t.*
+            FROM unnest(ARRAY[:accs]) AS acc(account_number)
+            CROSS JOIN LATERAL (
+                (SELECT * FROM transactions WHERE from_account_number = acc.account_number
+                 ORDER BY timestamp DESC, id DESC LIMIT :limit)
+                UNION ALL
+                (SELECT * FROM transactions WHERE to_account_number = acc.account_number
+                 ORDER BY timestamp DESC, id DESC LIMIT :limit)
+            ) t
+            ORDER BY t.timestamp DESC, t.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Transaction> findRecentByAccountNumbers(@Param("accs") Collection<String> accountNumbers, @Param("limit") int limit);
+
+    // The plain timestamp bound repeats the row comparison in a form partition pruning understands.
+    @Query(value = """
+            SELECT * FROM (
+                (SELECT * FROM transactions
+                 WHERE from_account_number = :acc AND timestamp <= :ts AND (timestamp, id) < (:ts, :id)
+                 ORDER BY timestamp DESC, id DESC LIMIT :limit)
+                UNION
+                (SELECT * FROM transactions
+                 WHERE to_account_number = :acc AND timestamp <= :ts AND (timestamp, id) < (:ts, :id)
+                 ORDER BY timestamp DESC, id DESC LIMIT :limit)
+            ) page
+            ORDER BY timestamp DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Transaction> findByAccountNumberBefore(
+            @Param("acc") String accountNumber,
+            @Param("ts") LocalDateTime timestamp,
+            @Param("id") long id,
+            @Param("limit") int limit
     );
 
-    @Query("SELECT t FROM Transaction t WHERE t.fromAccountNumber = :acc OR t.toAccountNumber = : acc ORDER BY t.timestamp DESC")
-    Page<Transaction> findByAccountNumber(@Param("acc") String accountNumber, Pageable pageable);
+    @Query(value = "SELECT * FROM transactions ORDER BY timestamp DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Transaction> findLatest(@Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM transactions WHERE timestamp <= :ts AND (timestamp, id) < (:ts, :id)
+            ORDER BY timestamp DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Transaction> findLatestBefore(@Param("ts") LocalDateTime timestamp, @Param("id") long id, @Param("limit") int limit);
+
+    // Streaming queries: rows are pulled from a server-side cursor in fetch-size chunks instead of being materialized.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.fromAccountNumber = :acc OR t.toAccountNumber = :acc ORDER BY t.timestamp, t.id")
+    Stream<Transaction> streamByAccountNumber(@Param("acc") String accountNumber);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.timestamp >= :from AND t.timestamp < :to ORDER BY t.timestamp, t.id")
+    Stream<Transaction> streamByTimestampRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -1,12 +1,17 @@
 package com.github.sleepystack.vaulta.repository;
 
+import com.github.sleepystack.vaulta.dto.UserManagementDTO;
 import com.github.sleepystack.vaulta.entity.User;
+import com.github.sleepystack.vaulta.entity.enumeration.Role;
 import com.github.sleepystack.vaulta.entity.enumeration.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,8 +19,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
 
-    long countByStatus(Status status);
+    @EntityGraph(attributePaths = "accounts")
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findByEmailWithAccounts(@Param("email") String email);
 
-    @Query("SELECT COALESCE(SUM(a.balance), 0) FROM Account a")
-    BigDecimal getTotalSystemBalance();
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "accounts")
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdWithAccounts(@Param("id") Long id);
+
+    // Keyset page over users.id; balances are summed in the same statement instead of loading each user's accounts.
+    @Query("""
+            SELECT new com.github.sleepystack.vaulta.dto.UserManagementDTO(
+                u.id, u.username, u.email, u.role, u.status, u.tokenVersion, COALESCE(SUM(a.balance + a.slottedBalance), 0), u.createdAt)
+            FROM User u LEFT JOIN u.accounts a
+            WHERE u.id > :afterId
+              AND (:status IS NULL OR u.status = :status)
+              AND (:role IS NULL OR u.role = :role)
+              AND (:search IS NULL OR LOWER(u.username) LIKE :search ESCAPE '\\' OR LOWER(u.email) LIKE :search ESCAPE '\\')
+            GROUP BY u.id, u.username, u.email, u.role, u.status, u.tokenVersion, u.createdAt
+            ORDER BY u.id
+            """)
+    List<UserManagementDTO> findManagementPage(
+            @Param("afterId") long afterId,
+            @Param("status") Status status,
+            @Param("role") Role role,
+            @Param("search") String search,
+            Pageable pageable
+    );
+}
@@ -0,0 +1,84 @@
+package com.github.sleepystack.vaulta.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account numbers from blocks reserved on {@code account_number_seq}. A block belongs to one node, so
+ * numbers are unique across nodes without a lookup, and only one allocation in {@link #BLOCK_SIZE} touches the
+ * database. Numbers of a block lost to a restart are simply never issued.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountNumberAllocator {
+
+    public static final String PREFIX = "888";
+
+    // Must match INCREMENT BY of account_number_seq.
+    static final int BLOCK_SIZE = 1000;
+
+    private static final long MAX_BODY = 99_999_999L;
+    private static final int LENGTH = 12;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Not synchronized: refilling blocks on a database call, which would pin a virtual thread.
+    private final Lock lock = new ReentrantLock();
+    private long nextValue;
+    private long blockEnd;
+
+    public String next() {
+        long value;
+        lock.lock();
+        try {
+            if (nextValue >= blockEnd) {
+                reserveBlock();
+            }
+            value = nextValue++;
+        } finally {
+            lock.unlock();
+        }
+        String payload = PREFIX + String.format("%08d", value);
+        return payload + checkDigit(payload);
+    }
+
+    private void reserveBlock() {
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('account_number_seq')", Long.class);
+        if (start == null || start + BLOCK_SIZE - 1 > MAX_BODY) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+        nextValue = start;
+        blockEnd = start + BLOCK_SIZE;
+    }
+
+    // Only numbers issued here carry a check digit; legacy ten-digit numbers are accepted as they are.
+    public static boolean hasValidCheckDigit(String accountNumber) {
+        if (accountNumber.length() != LENGTH || !accountNumber.startsWith(PREFIX)
+                || !accountNumber.chars().allMatch(Character::isDigit)) {
+            return true;
+        }
+        return checkDigit(accountNumber.substring(0, LENGTH - 1)) == accountNumber.charAt(LENGTH - 1) - '0';
+    }
+
+    // Luhn: doubling every second digit from the right catches any single-digit typo and most adjacent swaps.
+    static int checkDigit(String payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
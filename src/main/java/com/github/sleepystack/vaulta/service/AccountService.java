@@ -5,6 +5,7 @@ import com.github.sleepystack.vaulta.dto.AccountResponseDTO;
 import com.github.sleepystack.vaulta.entity.Account;
 import com.github.sleepystack.vaulta.entity.User;
 import com.github.sleepystack.vaulta.entity.enumeration.Status;
+import com.github.sleepystack.vaulta.event.AccountOpenedEvent;
 import com.github.sleepystack.vaulta.exception.AccountNotFoundException;
 import com.github.sleepystack.vaulta.exception.BusinessLogicException;
 import com.github.sleepystack.vaulta.exception.UserNotFoundException;
@@ -12,12 +13,12 @@ import com.github.sleepystack.vaulta.repository.AccountRepository;
 import com.github.sleepystack.vaulta.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @Service
@@ -26,12 +27,14 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AccountResponseDTO openAccount(AccountRequestDTO request, String currentUserEmail) {
         log.info("Opening {} account for user: {}", request.accountType(), currentUserEmail);
 
-        User user = userRepository.findByEmail(currentUserEmail)
+        User user = userRepository.findByEmailWithAccounts(currentUserEmail)
                 .orElseThrow(() -> new UserNotFoundException("Authenticated user not found"));
         user.ensureCanPerformActions();
         boolean alreadyHasType = user.getAccounts().stream()
@@ -41,7 +44,7 @@ public class AccountService {
             throw new BusinessLogicException("User already has a " + request.accountType() + " account");
         }
 
-        String newAccountNumber = generateUniqueAccountNumber();
+        String newAccountNumber = accountNumberAllocator.next();
 
         Account account = new Account();
         account.setAccountNumber(newAccountNumber);
@@ -52,6 +55,7 @@ public class AccountService {
 
         user.addAccount(account);
         accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountOpenedEvent(currentUserEmail, newAccountNumber));
 
         log.info("Account {} created for {}", newAccountNumber, user.getUsername());
 
@@ -63,25 +67,17 @@ public class AccountService {
         );
     }
 
-    private String generateUniqueAccountNumber() {
-        String number;
-        do {
-            number = "888" + String.format("%07d", ThreadLocalRandom.current().nextInt(10000000));
-        } while (accountRepository.findByAccountNumber(number).isPresent());
-        return number;
-    }
-
     @Transactional(readOnly = true)
     public List<AccountResponseDTO> getMyAccounts(String email) {
         log.info("Fetching all accounts for user: {}", email);
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmailWithAccounts(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
         user.ensureCanPerformActions();
         return user.getAccounts().stream()
                 .map(acc -> new AccountResponseDTO(
                         acc.getAccountNumber(),
                         acc.getAccountType(),
-                        acc.getBalance(),
+                        acc.getTotalBalance(),
                         user.getUsername()
                 )).toList();
     }
@@ -99,7 +95,7 @@ public class AccountService {
         return new AccountResponseDTO(
                 acc.getAccountNumber(),
                 acc.getAccountType(),
-                acc.getBalance(),
+                acc.getTotalBalance(),
                 acc.getUser().getUsername()
         );
     }
@@ -113,7 +109,11 @@ public class AccountService {
             throw new BusinessLogicException("Access denied: You do not own this account");
         }
 
-        if(acc.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+        if (acc.getBalanceSlots() > 0) {
+            throw new BusinessLogicException("Balance slots must be disabled before closing");
+        }
+
+        if(acc.getTotalBalance().compareTo(BigDecimal.ZERO) != 0) {
             throw new BusinessLogicException("Balance must be zero before closing");
         }
 
@@ -124,14 +124,14 @@ public class AccountService {
 
     @Transactional(readOnly = true)
     public List<AccountResponseDTO> getAccountsByUserEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmailWithAccounts(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
         user.ensureCanPerformActions();
         return user.getAccounts().stream()
                 .map(acc -> new AccountResponseDTO(
                         acc.getAccountNumber(),
                         acc.getAccountType(),
-                        acc.getBalance(),
+                        acc.getTotalBalance(),
                         user.getUsername()
                 )).toList();
     }
@@ -2,22 +2,26 @@ package com.github.sleepystack.vaulta.service;
 
 import com.github.sleepystack.vaulta.dto.AccountResponseDTO;
 import com.github.sleepystack.vaulta.dto.AdminStatsResponse;
+import com.github.sleepystack.vaulta.dto.CursorPageDTO;
 import com.github.sleepystack.vaulta.dto.TransactionResponseDTO;
 import com.github.sleepystack.vaulta.dto.UserManagementDTO;
-import com.github.sleepystack.vaulta.dto.UserResponseAdminDTO;
 import com.github.sleepystack.vaulta.entity.Account;
 import com.github.sleepystack.vaulta.entity.Transaction;
 import com.github.sleepystack.vaulta.entity.User;
+import com.github.sleepystack.vaulta.entity.enumeration.AccountType;
 import com.github.sleepystack.vaulta.entity.enumeration.Role;
 import com.github.sleepystack.vaulta.entity.enumeration.Status;
 import com.github.sleepystack.vaulta.exception.AccountNotFoundException;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
 import com.github.sleepystack.vaulta.exception.UserNotFoundException;
 import com.github.sleepystack.vaulta.repository.AccountRepository;
 import com.github.sleepystack.vaulta.repository.TransactionRepository;
 import com.github.sleepystack.vaulta.repository.UserRepository;
+import com.github.sleepystack.vaulta.util.TransactionCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -25,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @Slf4j
@@ -36,15 +41,18 @@ public class AdminService {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final SystemStatsService systemStatsService;
 
     public AdminStatsResponse getSystemStats() {
         log.info("ADMIN: Fetching system statistics");
 
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByStatus(Status.ACTIVE);
-        long lockedUsers = userRepository.countByStatus(Status.FROZEN);
-        BigDecimal totalSystemBalance = userRepository.getTotalSystemBalance();
-        long totalTransactionsCount = transactionRepository.count();
+        SystemStatsService.Totals totals = systemStatsService.current();
+        long totalUsers = totals.totalUsers();
+        long activeUsers = totals.activeUsers();
+        long lockedUsers = totals.frozenUsers();
+        BigDecimal totalSystemBalance = totals.totalBalance();
+        long totalTransactionsCount = totals.totalTransactions();
 
         double userActivityRate = totalUsers > 0 ? ((double) activeUsers / totalUsers) * 100 : 0;
         double avgBalancePerUser = totalUsers > 0 ? totalSystemBalance.doubleValue() / totalUsers : 0;
@@ -62,27 +70,24 @@ public class AdminService {
         );
     }
 
-    public List<UserManagementDTO> getAllUsersForManagement() {
-        log.info("ADMIN: Fetching all users for management");
-
-        return userRepository.findAll().stream()
-                .map(user -> {
-                    BigDecimal totalBalance = user.getAccounts().stream()
-                            .map(Account::getBalance)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    return new UserManagementDTO(
-                            user.getId(),
-                            user.getUsername(),
-                            user.getEmail(),
-                            user.getRole(),
-                            user.getStatus(),
-                            user.getTokenVersion(),
-                            totalBalance,
-                            user.getCreatedAt()
-                    );
-                })
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserManagementDTO> getUsersForManagement(
+            String cursor, int size, Status status, Role role, String search) {
+        log.info("ADMIN: Fetching users for management");
+
+        int pageSize = CursorPageDTO.clampPageSize(size);
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new BusinessLogicException("Invalid pagination cursor");
+            }
+        }
+
+        List<UserManagementDTO> rows = userRepository.findManagementPage(
+                afterId, status, role, prefixPattern(search), PageRequest.of(0, pageSize + 1));
+        return CursorPageDTO.of(rows, pageSize, user -> String.valueOf(user.id()));
     }
 
     public String toggleUserStatus(Long userId) {
@@ -101,37 +106,43 @@ public class AdminService {
         user.setStatus(newStatus);
         user.setTokenVersion(user.getTokenVersion() + 1); // Force logout
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
 
         return "User " + user.getUsername() + " status changed to " + newStatus;
     }
 
-    public List<UserResponseAdminDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> new UserResponseAdminDTO(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getStatus(),
-                        user.getRole()
-                )).toList();
-    }
-
     public void updateUserStatus(Long userId, Status newStatus) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
         log.info("ADMIN: Updating status of user {} to {}", user.getUsername(), newStatus);
         user.setStatus(newStatus);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
     }
 
-    public List<AccountResponseDTO> getAllAccounts() {
-        return accountRepository.findAll().stream()
-                .map(acc -> new AccountResponseDTO(
-                        acc.getAccountNumber(),
-                        acc.getAccountType(),
-                        acc.getBalance(),
-                        acc.getUser().getUsername()
-                )).toList();
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AccountResponseDTO> getAccounts(
+            String cursor, int size, Status status, AccountType accountType, String search) {
+        log.info("ADMIN: Fetching accounts");
+
+        int pageSize = CursorPageDTO.clampPageSize(size);
+        String afterAccountNumber = cursor == null ? "" : cursor;
+
+        List<AccountResponseDTO> rows = accountRepository.findAdminPage(
+                afterAccountNumber, status, accountType, prefixPattern(search), PageRequest.of(0, pageSize + 1));
+        return CursorPageDTO.of(rows, pageSize, AccountResponseDTO::accountNumber);
+    }
+
+    // Prefix match only, so the lookup can use the text_pattern_ops indexes instead of scanning every row.
+    private String prefixPattern(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        String escaped = search.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
     }
 
     public void updateAccountStatus(String accountNumber, Status newStatus) {
@@ -148,14 +159,34 @@ public class AdminService {
 
         Page<Transaction> transactions = transactionRepository.findAll(pageable);
 
-        return transactions.map(t -> new TransactionResponseDTO(
+        return transactions.map(this::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TransactionResponseDTO> getTransactionFeed(String cursor, int size) {
+        log.info("ADMIN: Fetching transaction feed page");
+
+        int pageSize = CursorPageDTO.clampPageSize(size);
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findLatest(pageSize + 1);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findLatestBefore(position.timestamp(), position.id(), pageSize + 1);
+        }
+
+        return TransactionCursor.toPage(rows, pageSize, this::toResponse);
+    }
+
+    private TransactionResponseDTO toResponse(Transaction t) {
+        return new TransactionResponseDTO(
                 t.getId(),
                 t.getType().name(),
                 t.getAmount(),
                 t.getFromAccountNumber(),
                 t.getToAccountNumber(),
                 t.getTimestamp()
-        ));
+        );
     }
 
     public void promoteToAdmin(Long userId) {
@@ -165,6 +196,7 @@ public class AdminService {
         log.info("ADMIN ACTION: Promoting user {} to ADMIN role", user.getUsername());
         user.setRole(Role.ADMIN);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
     }
 
     public void resetUserPassword(Long userId, String newRawPassword) {
@@ -176,5 +208,6 @@ public class AdminService {
         user.setPassword(passwordEncoder.encode(newRawPassword));
         user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
     }
 }
\ No newline at end of file
@@ -0,0 +1,245 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.dto.AsyncTransferStatusDTO;
+import com.github.sleepystack.vaulta.dto.TransactionDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.TransferStatus;
+import com.github.sleepystack.vaulta.exception.BankException;
+import com.github.sleepystack.vaulta.exception.TransferNotFoundException;
+import com.github.sleepystack.vaulta.exception.TransferQueueFullException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts transfers without holding the request thread. An accepted transfer is stored in async_transfers before
+ * the 202 goes out, so its status can be polled on any node and it survives a restart or crash of the node that
+ * accepted it. A fixed number of virtual-thread workers, kept below the Hikari pool size, drains a bounded local
+ * queue; when it is full callers are told to retry instead of piling up on connection-timeout.
+ * <p>
+ * Workers claim a row under a lease and mark it completed in the transaction that moves the money, so a transfer
+ * is applied exactly once even when recovery hands a stranded row to another node.
+ */
+@Slf4j
+@Service
+public class AsyncTransferService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO async_transfers (id, owner_email, from_account_number, to_account_number, amount, status, submitted_at)
+            VALUES (?, ?, ?, ?, ?, 'PENDING', ?)
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE async_transfers
+            SET status = 'PROCESSING', lease_owner = ?, lease_until = CURRENT_TIMESTAMP + make_interval(secs => ?)
+            WHERE id = ? AND completed_at IS NULL
+              AND (status = 'PENDING' OR lease_until < CURRENT_TIMESTAMP)
+            """;
+
+    private static final String FINISH_SQL = """
+            UPDATE async_transfers
+            SET status = ?, error_code = ?, message = ?, completed_at = ?, lease_owner = NULL, lease_until = NULL
+            WHERE id = ? AND lease_owner = ?
+            """;
+
+    private static final String STRANDED_SQL = """
+            SELECT id, owner_email, from_account_number, to_account_number, amount, submitted_at
+            FROM async_transfers
+            WHERE completed_at IS NULL
+              AND ((status = 'PENDING' AND submitted_at < ?) OR (status = 'PROCESSING' AND lease_until < CURRENT_TIMESTAMP))
+            ORDER BY submitted_at
+            LIMIT ?
+            """;
+
+    private static final RowMapper<PendingTransfer> PENDING_MAPPER = (rs, rowNum) -> new PendingTransfer(
+            rs.getObject("id", UUID.class),
+            rs.getString("owner_email"),
+            new TransactionDTO(rs.getString("from_account_number"), rs.getString("to_account_number"), rs.getBigDecimal("amount")),
+            rs.getTimestamp("submitted_at").toLocalDateTime()
+    );
+
+    private static final RowMapper<AsyncTransferStatusDTO> STATUS_MAPPER = (rs, rowNum) -> {
+        Timestamp completedAt = rs.getTimestamp("completed_at");
+        return new AsyncTransferStatusDTO(
+                rs.getObject("id", UUID.class).toString(),
+                TransferStatus.valueOf(rs.getString("status")),
+                rs.getString("from_account_number"),
+                rs.getString("to_account_number"),
+                rs.getBigDecimal("amount"),
+                rs.getString("error_code"),
+                rs.getString("message"),
+                rs.getTimestamp("submitted_at").toLocalDateTime(),
+                completedAt != null ? completedAt.toLocalDateTime() : null
+        );
+    };
+
+    private final TransactionService transactionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Duration statusTtl;
+    private final Duration lease;
+    private final Duration recoveryInterval;
+    // Keeps recovery from queueing a transfer this node already holds.
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public AsyncTransferService(
+            TransactionService transactionService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${application.transfers.async.workers:5}") int workers,
+            @Value("${application.transfers.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${application.transfers.async.status-ttl:15m}") Duration statusTtl,
+            @Value("${application.transfers.async.lease:60s}") Duration lease,
+            @Value("${application.transfers.async.recovery-interval:10s}") Duration recoveryInterval
+    ) {
+        this.transactionService = transactionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("transfer-worker-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.statusTtl = statusTtl;
+        this.lease = lease;
+        this.recoveryInterval = recoveryInterval;
+    }
+
+    public AsyncTransferStatusDTO submit(TransactionDTO t, String currentUserEmail) {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            log.warn("Async transfer queue is full, rejecting transfer from {}", t.accountNumber());
+            throw new TransferQueueFullException();
+        }
+
+        PendingTransfer transfer = new PendingTransfer(UUID.randomUUID(), currentUserEmail, t, LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SQL, transfer.id(), currentUserEmail, t.accountNumber(), t.targetAccountNumber(),
+                t.amount(), Timestamp.valueOf(transfer.submittedAt()));
+        enqueue(transfer);
+
+        return new AsyncTransferStatusDTO(transfer.id().toString(), TransferStatus.PENDING, t.accountNumber(),
+                t.targetAccountNumber(), t.amount(), null, null, transfer.submittedAt(), null);
+    }
+
+    public AsyncTransferStatusDTO getStatus(String transferId, String currentUserEmail) {
+        UUID id;
+        try {
+            id = UUID.fromString(transferId);
+        } catch (IllegalArgumentException e) {
+            throw new TransferNotFoundException(transferId);
+        }
+        List<AsyncTransferStatusDTO> status = jdbcTemplate.query("""
+                        SELECT id, status, from_account_number, to_account_number, amount, error_code, message,
+                               submitted_at, completed_at
+                        FROM async_transfers
+                        WHERE id = ? AND owner_email = ?
+                        """,
+                STATUS_MAPPER, id, currentUserEmail);
+        if (status.isEmpty()) {
+            throw new TransferNotFoundException(transferId);
+        }
+        return status.get(0);
+    }
+
+    // Picks up transfers accepted by a node that went away, and ones the local queue could not take.
+    @Scheduled(fixedDelayString = "${application.transfers.async.recovery-interval:10s}")
+    public void recoverStranded() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<PendingTransfer> stranded = jdbcTemplate.query(STRANDED_SQL, PENDING_MAPPER,
+                Timestamp.valueOf(LocalDateTime.now().minus(recoveryInterval)), capacity);
+        if (!stranded.isEmpty()) {
+            log.info("Recovering {} stranded async transfers", stranded.size());
+            stranded.forEach(this::enqueue);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.transfers.async.purge-interval:15m}")
+    public void purgeFinished() {
+        int removed = jdbcTemplate.update(
+                "DELETE FROM async_transfers WHERE completed_at < CURRENT_TIMESTAMP - make_interval(secs => ?)",
+                statusTtl.toSeconds());
+        if (removed > 0) {
+            log.info("Purged {} finished async transfers", removed);
+        }
+    }
+
+    private void enqueue(PendingTransfer transfer) {
+        if (!inFlight.add(transfer.id())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(transfer);
+                } finally {
+                    inFlight.remove(transfer.id());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The row stays PENDING and is picked up by recovery on whichever node has room.
+            inFlight.remove(transfer.id());
+        }
+    }
+
+    private void process(PendingTransfer transfer) {
+        UUID leaseOwner = UUID.randomUUID();
+        if (jdbcTemplate.update(CLAIM_SQL, leaseOwner, lease.toSeconds(), transfer.id()) == 0) {
+            return;
+        }
+
+        TransactionDTO t = transfer.request();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionService.transfer(t.accountNumber(), t.targetAccountNumber(), t.amount(), transfer.ownerEmail());
+                if (finish(transfer.id(), leaseOwner, TransferStatus.COMPLETED, null, null) == 0) {
+                    throw new IllegalStateException("Lease on async transfer " + transfer.id() + " was lost");
+                }
+            });
+        } catch (BankException e) {
+            finish(transfer.id(), leaseOwner, TransferStatus.FAILED, e.getErrorCode(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Async transfer {} failed", transfer.id(), e);
+            finish(transfer.id(), leaseOwner, TransferStatus.FAILED,
+                    "TRANSFER_FAILED", "The transfer could not be processed. Please retry.");
+        }
+    }
+
+    private int finish(UUID id, UUID leaseOwner, TransferStatus status, String errorCode, String message) {
+        return jdbcTemplate.update(FINISH_SQL, status.name(), errorCode, message,
+                Timestamp.valueOf(LocalDateTime.now()), id, leaseOwner);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Async transfer workers did not finish in time, {} queued transfers left for recovery",
+                    executor.shutdownNow().size());
+        }
+    }
+
+    private record PendingTransfer(UUID id, String ownerEmail, TransactionDTO request, LocalDateTime submittedAt) {}
+}
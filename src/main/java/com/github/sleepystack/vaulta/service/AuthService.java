@@ -23,6 +23,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final PrincipalCache principalCache;
 
     public AuthResponseDTO register(UserRegistrationDTO request) {
         User user = userService.registerUser(request);
@@ -52,6 +53,7 @@ public class AuthService {
                         .orElseThrow(() -> new UserNotFoundException("Invalid Session"));
         user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(email);
         return ResponseEntity.ok("Logged out successfully");
     }
 }
\ No newline at end of file
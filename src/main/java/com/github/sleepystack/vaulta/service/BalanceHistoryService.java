@@ -0,0 +1,169 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.dto.BalanceAtDTO;
+import com.github.sleepystack.vaulta.dto.DailyBalanceDTO;
+import com.github.sleepystack.vaulta.entity.Account;
+import com.github.sleepystack.vaulta.exception.AccountNotFoundException;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
+import com.github.sleepystack.vaulta.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Historical balances come from the nearest daily snapshot plus the account's own movements between that snapshot
+// and the requested instant. Snapshots are written for every day an account moved, so that delta never spans
+// more than the snapshot job's lag, whatever the account's age.
+@Service
+@RequiredArgsConstructor
+public class BalanceHistoryService {
+
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private static final String NET_SQL = """
+            SELECT COALESCE(SUM(CASE WHEN to_account_number = ? THEN amount ELSE -amount END), 0)
+            FROM transactions
+            WHERE (from_account_number = ? OR to_account_number = ?) AND timestamp >= ? AND timestamp < ?
+            """;
+
+    private static final String DAILY_NET_SQL = """
+            SELECT CAST(timestamp AS DATE) AS day,
+                   SUM(CASE WHEN to_account_number = ? THEN amount ELSE -amount END) AS net
+            FROM transactions
+            WHERE (from_account_number = ? OR to_account_number = ?) AND timestamp >= ? AND timestamp < ?
+            GROUP BY CAST(timestamp AS DATE)
+            """;
+
+    private static final String CURRENT_MINUS_SINCE_SQL = """
+            SELECT a.balance
+                   + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s WHERE s.account_number = a.account_number), 0)
+                   - COALESCE((
+                       SELECT SUM(CASE WHEN t.to_account_number = a.account_number THEN t.amount ELSE -t.amount END)
+                       FROM transactions t
+                       WHERE (t.from_account_number = a.account_number OR t.to_account_number = a.account_number)
+                         AND t.timestamp >= ?), 0)
+            FROM accounts a
+            WHERE a.account_number = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+
+    // Repeatable read keeps the snapshot rows, the watermark and the delta scan on one view while the job writes.
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BalanceAtDTO getBalanceAt(String accountNumber, LocalDateTime at, String email) {
+        requireOwnedAccount(accountNumber, email);
+        return new BalanceAtDTO(accountNumber, at, balanceAt(accountNumber, at));
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<DailyBalanceDTO> getDailyBalances(String accountNumber, LocalDate from, LocalDate to, String email) {
+        if (from.isAfter(to)) {
+            throw new BusinessLogicException("Range start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BusinessLogicException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        requireOwnedAccount(accountNumber, email);
+
+        LocalDate watermark = jdbcTemplate.queryForObject(
+                "SELECT last_date FROM balance_snapshot_watermark WHERE id = 1", LocalDate.class);
+        Map<LocalDate, BigDecimal> closings = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT balance_date, closing_balance FROM account_daily_balances
+                        WHERE account_number = ? AND balance_date BETWEEN ? AND ?
+                        """,
+                rs -> {
+                    closings.put(rs.getDate("balance_date").toLocalDate(), rs.getBigDecimal("closing_balance"));
+                },
+                accountNumber, Date.valueOf(from), Date.valueOf(to));
+
+        // Days after the watermark have no snapshots yet, so their movements are summed per day instead.
+        LocalDate tailStart = watermark == null || watermark.isBefore(from) ? from : watermark.plusDays(1);
+        Map<LocalDate, BigDecimal> tailNets = new HashMap<>();
+        if (!tailStart.isAfter(to)) {
+            jdbcTemplate.query(DAILY_NET_SQL,
+                    rs -> {
+                        tailNets.put(rs.getDate("day").toLocalDate(), rs.getBigDecimal("net"));
+                    },
+                    accountNumber, accountNumber, accountNumber,
+                    Timestamp.valueOf(tailStart.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+
+        BigDecimal running = balanceAt(accountNumber, from.atStartOfDay());
+        List<DailyBalanceDTO> balances = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (day.isBefore(tailStart)) {
+                running = closings.getOrDefault(day, running);
+            } else {
+                running = running.add(tailNets.getOrDefault(day, BigDecimal.ZERO));
+            }
+            balances.add(new DailyBalanceDTO(day, running));
+        }
+        return balances;
+    }
+
+    // Balance after every movement strictly before `at`.
+    private BigDecimal balanceAt(String accountNumber, LocalDateTime at) {
+        LocalDate day = at.toLocalDate();
+
+        List<Snapshot> before = jdbcTemplate.query("""
+                        SELECT balance_date, closing_balance FROM account_daily_balances
+                        WHERE account_number = ? AND balance_date < ?
+                        ORDER BY balance_date DESC LIMIT 1
+                        """,
+                (rs, rowNum) -> new Snapshot(rs.getDate("balance_date").toLocalDate(), rs.getBigDecimal("closing_balance")),
+                accountNumber, Date.valueOf(day));
+        if (!before.isEmpty()) {
+            Snapshot snapshot = before.get(0);
+            return snapshot.closing().add(net(accountNumber, snapshot.date().plusDays(1).atStartOfDay(), at));
+        }
+
+        // Nothing earlier: walk back from the first snapshot after instead, which is just as close.
+        List<Snapshot> after = jdbcTemplate.query("""
+                        SELECT balance_date, closing_balance FROM account_daily_balances
+                        WHERE account_number = ? AND balance_date >= ?
+                        ORDER BY balance_date LIMIT 1
+                        """,
+                (rs, rowNum) -> new Snapshot(rs.getDate("balance_date").toLocalDate(), rs.getBigDecimal("closing_balance")),
+                accountNumber, Date.valueOf(day));
+        if (!after.isEmpty()) {
+            Snapshot snapshot = after.get(0);
+            return snapshot.closing().subtract(net(accountNumber, at, snapshot.date().plusDays(1).atStartOfDay()));
+        }
+
+        // The account has not moved on any snapshotted day, so only recent movements separate `at` from now.
+        return jdbcTemplate.queryForObject(CURRENT_MINUS_SINCE_SQL, BigDecimal.class,
+                Timestamp.valueOf(at), accountNumber);
+    }
+
+    private BigDecimal net(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return BigDecimal.ZERO;
+        }
+        return jdbcTemplate.queryForObject(NET_SQL, BigDecimal.class,
+                accountNumber, accountNumber, accountNumber, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private void requireOwnedAccount(String accountNumber, String email) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+        if (!account.getUser().getEmail().equals(email)) {
+            throw new BusinessLogicException("Access denied: You do not own this account");
+        }
+    }
+
+    private record Snapshot(LocalDate date, BigDecimal closing) {}
+}
@@ -0,0 +1,92 @@
+package com.github.sleepystack.vaulta.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceSnapshotService {
+
+    // Closing balance of day D = current balance minus every net movement after D. Walking each account's active
+    // days newest first turns that into a running sum, so the whole range is written in one pass over the
+    // movements since `start`. Being a single statement, the balances and the movements come from one snapshot.
+    private static final String SNAPSHOT_SQL = """
+            INSERT INTO account_daily_balances (account_number, balance_date, closing_balance)
+            SELECT account_number, day, closing
+            FROM (
+                SELECT d.account_number, d.day,
+                       a.balance + COALESCE(slots.balance, 0) - COALESCE(SUM(d.net) OVER (
+                           PARTITION BY d.account_number ORDER BY d.day DESC
+                           ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0) AS closing
+                FROM (
+                    SELECT account_number, CAST(timestamp AS DATE) AS day, SUM(delta) AS net
+                    FROM (
+                        SELECT to_account_number AS account_number, timestamp, amount AS delta
+                        FROM transactions
+                        WHERE timestamp >= ? AND to_account_number IS NOT NULL
+                        UNION ALL
+                        SELECT from_account_number, timestamp, -amount
+                        FROM transactions
+                        WHERE timestamp >= ? AND from_account_number IS NOT NULL
+                    ) movements
+                    GROUP BY account_number, CAST(timestamp AS DATE)
+                ) d
+                JOIN accounts a ON a.account_number = d.account_number
+                LEFT JOIN (
+                    SELECT account_number, SUM(balance) AS balance FROM account_balance_slots GROUP BY account_number
+                ) slots ON slots.account_number = d.account_number
+            ) closings
+            WHERE day <= ?
+            ON CONFLICT (account_number, balance_date) DO UPDATE SET closing_balance = EXCLUDED.closing_balance
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${application.balance-snapshots.cron:0 5 0 * * *}")
+    public void snapshot() {
+        snapshotThrough(LocalDate.now().minusDays(1));
+    }
+
+    // Catches up every day after the watermark, so a missed run (or the very first one) backfills on its own.
+    public void snapshotThrough(LocalDate end) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Another node holding the row is already doing this work.
+            List<LocalDate> watermark = jdbcTemplate.query(
+                    "SELECT last_date FROM balance_snapshot_watermark WHERE id = 1 FOR UPDATE SKIP LOCKED",
+                    (rs, rowNum) -> {
+                        Date lastDate = rs.getDate("last_date");
+                        return lastDate != null ? lastDate.toLocalDate() : null;
+                    });
+            if (watermark.isEmpty()) {
+                return;
+            }
+
+            LocalDate start = watermark.get(0) != null ? watermark.get(0).plusDays(1) : firstMovementDate();
+            if (start != null && !start.isAfter(end)) {
+                Timestamp from = Timestamp.valueOf(start.atStartOfDay());
+                int rows = jdbcTemplate.update(SNAPSHOT_SQL, from, from, Date.valueOf(end));
+                log.info("Wrote {} daily balance snapshots for {} to {}", rows, start, end);
+            }
+
+            if (watermark.get(0) == null || watermark.get(0).isBefore(end)) {
+                jdbcTemplate.update("UPDATE balance_snapshot_watermark SET last_date = ? WHERE id = 1", Date.valueOf(end));
+            }
+        });
+    }
+
+    private LocalDate firstMovementDate() {
+        Timestamp first = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM transactions", Timestamp.class);
+        return first != null ? first.toLocalDateTime().toLocalDate() : null;
+    }
+}
@@ -3,7 +3,9 @@ package com.github.sleepystack.vaulta.service;
 import com.github.sleepystack.vaulta.dto.DashboardSummaryDTO;
 import com.github.sleepystack.vaulta.dto.TransactionDTO;
 import com.github.sleepystack.vaulta.entity.Account;
+import com.github.sleepystack.vaulta.entity.Transaction;
 import com.github.sleepystack.vaulta.entity.User;
+import com.github.sleepystack.vaulta.event.UserStreamSink;
 import com.github.sleepystack.vaulta.exception.UserNotFoundException;
 import com.github.sleepystack.vaulta.repository.TransactionRepository;
 import com.github.sleepystack.vaulta.repository.UserRepository;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,20 +24,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DashboardService {
 
+    private static final int RECENT_TRANSACTIONS_LIMIT = 5;
+
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final UserStreamSink userStreamSink;
 
     @Transactional(readOnly = true)
     public DashboardSummaryDTO getDashboardSummary(String email) {
         log.info("Fetching dashboard summary for user: {}", email);
 
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmailWithAccounts(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
         user.ensureCanPerformActions();
 
         BigDecimal totalBalance = user.getAccounts().stream()
-                .map(Account::getBalance)
+                .map(Account::getTotalBalance)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         String primaryAccountNumber = user.getAccounts().stream()
@@ -48,11 +54,11 @@ public class DashboardService {
                 .map(Account::getAccountNumber)
                 .toList();
 
-        List<TransactionDTO> recentTransactions = transactionRepository.findAll().stream()
-                .filter(t -> accountNumbers.contains(t.getFromAccountNumber())
-                        || accountNumbers.contains(t.getToAccountNumber()))
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
-                .limit(5)
+        List<Transaction> recent = accountNumbers.isEmpty()
+                ? List.of()
+                : transactionRepository.findRecentByAccountNumbers(accountNumbers, RECENT_TRANSACTIONS_LIMIT);
+
+        List<TransactionDTO> recentTransactions = recent.stream()
                 .map(t -> new TransactionDTO(
                         t.getFromAccountNumber() != null ? t.getFromAccountNumber() : t.getToAccountNumber(),
                         t.getToAccountNumber(),
@@ -67,4 +73,18 @@ public class DashboardService {
                 user.getStatus().name()
         );
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(String email) {
+        User user = userRepository.findByEmailWithAccounts(email)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        user.ensureCanPerformActions();
+
+        List<String> accountNumbers = user.getAccounts().stream()
+                .map(Account::getAccountNumber)
+                .toList();
+        log.info("Opening live dashboard stream for user: {}", email);
+        return userStreamSink.subscribe(email, accountNumbers);
+    }
+}
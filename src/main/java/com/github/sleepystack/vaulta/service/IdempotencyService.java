@@ -0,0 +1,159 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.sleepystack.vaulta.dto.TransactionDTO;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
+import com.github.sleepystack.vaulta.exception.IdempotencyKeyMismatchException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Runs a money-moving request at most once per (user, Idempotency-Key). The key row is inserted in the
+ * same database transaction as the business logic, so a retry either waits for the first attempt and
+ * replays its stored response, or, if the first attempt rolled back, runs again from scratch.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration keyTtl;
+    private final Cache<String, StoredResponse> recentKeys;
+
+    public IdempotencyService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${application.idempotency.key-ttl:24h}") Duration keyTtl,
+            @Value("${application.idempotency.cache-ttl:10m}") Duration cacheTtl,
+            @Value("${application.idempotency.cache-max-size:100000}") long cacheMaxSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.keyTtl = keyTtl;
+        this.recentKeys = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaxSize)
+                .build();
+    }
+
+    public ResponseEntity<String> execute(String owner, String idempotencyKey, String operation, TransactionDTO request,
+                                          Supplier<ResponseEntity<String>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessLogicException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = fingerprint(operation, request);
+        String cacheKey = owner + '\n' + idempotencyKey;
+        StoredResponse cached = recentKeys.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, idempotencyKey, requestHash);
+        }
+
+        StoredResponse stored = transactionTemplate.execute(status -> {
+            // Blocks while another attempt with the same key is in flight, then either conflicts or takes over.
+            // An expired key that has not been purged yet is claimed as if it were new.
+            int inserted = jdbcTemplate.update("""
+                            INSERT INTO idempotency_keys (owner, idempotency_key, request_hash, expires_at)
+                            VALUES (?, ?, ?, ?)
+                            ON CONFLICT (owner, idempotency_key) DO UPDATE SET
+                                request_hash = EXCLUDED.request_hash,
+                                status_code = NULL,
+                                response_body = NULL,
+                                created_at = CURRENT_TIMESTAMP,
+                                expires_at = EXCLUDED.expires_at
+                            WHERE idempotency_keys.expires_at < CURRENT_TIMESTAMP
+                            """,
+                    owner, idempotencyKey, requestHash, Timestamp.valueOf(LocalDateTime.now().plus(keyTtl)));
+            if (inserted == 0) {
+                return jdbcTemplate.queryForObject("""
+                                SELECT request_hash, status_code, response_body FROM idempotency_keys
+                                WHERE owner = ? AND idempotency_key = ?
+                                """,
+                        (rs, rowNum) -> new StoredResponse(
+                                rs.getString("request_hash"), rs.getInt("status_code"), rs.getString("response_body"), true),
+                        owner, idempotencyKey);
+            }
+
+            ResponseEntity<String> response = action.get();
+            jdbcTemplate.update("""
+                            UPDATE idempotency_keys SET status_code = ?, response_body = ?
+                            WHERE owner = ? AND idempotency_key = ?
+                            """,
+                    response.getStatusCode().value(), response.getBody(), owner, idempotencyKey);
+            return new StoredResponse(requestHash, response.getStatusCode().value(), response.getBody(), false);
+        });
+
+        recentKeys.put(cacheKey, stored);
+        if (stored.replayed()) {
+            return replay(stored, idempotencyKey, requestHash);
+        }
+        return ResponseEntity.status(stored.statusCode()).body(stored.body());
+    }
+
+    @Scheduled(fixedDelayString = "${application.idempotency.purge-interval:15m}")
+    public void purgeExpiredKeys() {
+        int removed;
+        int total = 0;
+        do {
+            removed = jdbcTemplate.update("""
+                    DELETE FROM idempotency_keys WHERE ctid IN (
+                        SELECT ctid FROM idempotency_keys WHERE expires_at < CURRENT_TIMESTAMP LIMIT ?
+                    )
+                    """, PURGE_BATCH_SIZE);
+            total += removed;
+        } while (removed == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+    }
+
+    private ResponseEntity<String> replay(StoredResponse stored, String idempotencyKey, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(idempotencyKey);
+        }
+        log.info("Replaying stored response for Idempotency-Key {}", idempotencyKey);
+        return ResponseEntity.status(stored.statusCode())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.body());
+    }
+
+    private static String fingerprint(String operation, TransactionDTO request) {
+        String canonical = String.join("|",
+                operation,
+                String.valueOf(request.accountNumber()),
+                String.valueOf(request.targetAccountNumber()),
+                request.amount() == null ? "null" : request.amount().stripTrailingZeros().toPlainString());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, int statusCode, String body, boolean replayed) {}
+}
@@ -0,0 +1,42 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.sleepystack.vaulta.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals keyed by email, so request authentication does not
+ * need a users-table lookup. Anything that bumps a user's token version or changes their status
+ * or role must call {@link #evict(String)}.
+ */
+@Service
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+            @Value("${application.security.principal-cache.ttl:60s}") Duration ttl,
+            @Value("${application.security.principal-cache.max-size:10000}") long maxSize
+    ) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void evict(String email) {
+        principals.invalidate(email);
+        // A request racing the write could re-cache the old row before commit, so evict again afterwards.
+        AfterCommit.run(() -> principals.invalidate(email));
+    }
+}
@@ -0,0 +1,338 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.dto.StatementRunDTO;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
+import com.github.sleepystack.vaulta.exception.StatementNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Generates monthly statements for every account. Accounts are split into contiguous account_number ranges when
+ * a run starts; workers claim a range under a lease and walk it in chunks, writing each chunk's statements and
+ * advancing the range checkpoint in the same transaction, so a run interrupted on any node resumes where it
+ * stopped. Opening and closing balances come from the daily balance snapshots, and each account's movements for
+ * the month are aggregated through the (account, timestamp) indexes.
+ */
+@Slf4j
+@Service
+public class StatementBatchService {
+
+    // NTILE over the unique account_number index gives ranges of (almost) equal size; the last one is left open
+    // so accounts opened after the split are still covered.
+    private static final String PARTITION_SQL = """
+            INSERT INTO statement_run_partitions (period, partition_no, lower_bound, upper_bound, last_account_number)
+            SELECT ?, bucket - 1, lower_bound, upper_bound, lower_bound
+            FROM (
+                SELECT bucket,
+                       LAG(upper) OVER (ORDER BY bucket) AS lower_bound,
+                       CASE WHEN bucket = MAX(bucket) OVER () THEN NULL ELSE upper END AS upper_bound
+                FROM (
+                    SELECT bucket, MAX(account_number) AS upper
+                    FROM (SELECT account_number, NTILE(?) OVER (ORDER BY account_number) AS bucket FROM accounts) numbered
+                    GROUP BY bucket
+                ) buckets
+            ) bounds
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE statement_run_partitions
+            SET lease_owner = ?, lease_until = LOCALTIMESTAMP + make_interval(secs => ?)
+            WHERE period = ? AND partition_no = ? AND completed_at IS NULL
+              AND (lease_until IS NULL OR lease_until < LOCALTIMESTAMP)
+            RETURNING upper_bound, last_account_number
+            """;
+
+    private static final String CHUNK_SQL = """
+            SELECT MAX(account_number) AS last_account_number, COUNT(*) AS size
+            FROM (
+                SELECT account_number FROM accounts
+                WHERE account_number > ? AND account_number <= COALESCE(CAST(? AS VARCHAR), account_number)
+                ORDER BY account_number
+                LIMIT ?
+            ) chunk
+            """;
+
+    // Closing balance is the last snapshot on or before the month end, or, for an account that had not moved by
+    // then, its current balance minus everything since. Deleted accounts only get a statement for a month they moved in.
+    private static final String STATEMENT_SQL = """
+            INSERT INTO account_statements (account_number, period, opening_balance, closing_balance,
+                                            total_credits, total_debits, transaction_count, generated_at)
+            SELECT a.account_number, ?, c.closing - p.credits + p.debits, c.closing, p.credits, p.debits, p.cnt,
+                   LOCALTIMESTAMP
+            FROM accounts a
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS cnt,
+                       COALESCE(SUM(CASE WHEN t.to_account_number = a.account_number THEN t.amount END), 0) AS credits,
+                       COALESCE(SUM(CASE WHEN t.from_account_number = a.account_number THEN t.amount END), 0) AS debits
+                FROM transactions t
+                WHERE (t.from_account_number = a.account_number OR t.to_account_number = a.account_number)
+                  AND t.timestamp >= ? AND t.timestamp < ?
+            ) p
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(
+                    (SELECT d.closing_balance FROM account_daily_balances d
+                     WHERE d.account_number = a.account_number AND d.balance_date <= ?
+                     ORDER BY d.balance_date DESC LIMIT 1),
+                    a.balance
+                    + (SELECT COALESCE(SUM(s.balance), 0) FROM account_balance_slots s
+                       WHERE s.account_number = a.account_number)
+                    - (SELECT COALESCE(SUM(CASE WHEN t.to_account_number = a.account_number
+                                                          THEN t.amount ELSE -t.amount END), 0)
+                                 FROM transactions t
+                                 WHERE (t.from_account_number = a.account_number OR t.to_account_number = a.account_number)
+                                   AND t.timestamp >= ?)) AS closing
+            ) c
+            WHERE a.account_number > ? AND a.account_number <= ?
+              AND (a.created_at IS NULL OR a.created_at < ?)
+              AND (NOT COALESCE(a.deleted, FALSE) OR p.cnt > 0)
+            ON CONFLICT (account_number, period) DO UPDATE SET
+                opening_balance = EXCLUDED.opening_balance,
+                closing_balance = EXCLUDED.closing_balance,
+                total_credits = EXCLUDED.total_credits,
+                total_debits = EXCLUDED.total_debits,
+                transaction_count = EXCLUDED.transaction_count,
+                generated_at = EXCLUDED.generated_at
+            """;
+
+    private static final String CHECKPOINT_SQL = """
+            UPDATE statement_run_partitions
+            SET last_account_number = ?, accounts_processed = accounts_processed + ?,
+                lease_until = LOCALTIMESTAMP + make_interval(secs => ?)
+            WHERE period = ? AND partition_no = ? AND lease_owner = ?
+            """;
+
+    private static final String COMPLETE_PARTITION_SQL = """
+            UPDATE statement_run_partitions
+            SET completed_at = LOCALTIMESTAMP, lease_owner = NULL, lease_until = NULL
+            WHERE period = ? AND partition_no = ? AND lease_owner = ?
+            """;
+
+    private static final String COMPLETE_RUN_SQL = """
+            UPDATE statement_runs SET completed_at = LOCALTIMESTAMP
+            WHERE period = ? AND completed_at IS NULL
+              AND NOT EXISTS (SELECT 1 FROM statement_run_partitions WHERE period = ? AND completed_at IS NULL)
+            """;
+
+    private static final String RUN_SQL = """
+            SELECT r.partitions, r.started_at, r.completed_at,
+                   COUNT(p.completed_at) AS completed_partitions,
+                   COALESCE(SUM(p.accounts_processed), 0) AS accounts_processed
+            FROM statement_runs r
+            LEFT JOIN statement_run_partitions p ON p.period = r.period
+            WHERE r.period = ?
+            GROUP BY r.period, r.partitions, r.started_at, r.completed_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final ExecutorService executor;
+    private final int partitions;
+    private final int chunkSize;
+    private final long leaseSeconds;
+    private final Counter accountsProcessed;
+    private final Counter statementsWritten;
+    private final Timer chunkTimer;
+
+    public StatementBatchService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            BalanceSnapshotService balanceSnapshotService,
+            MeterRegistry meterRegistry,
+            @Value("${application.statements.workers:4}") int workers,
+            @Value("${application.statements.partitions:16}") int partitions,
+            @Value("${application.statements.chunk-size:500}") int chunkSize,
+            @Value("${application.statements.lease:5m}") Duration lease
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("statement-worker-", 0).factory());
+        this.partitions = partitions;
+        this.chunkSize = chunkSize;
+        this.leaseSeconds = lease.toSeconds();
+        this.accountsProcessed = Counter.builder("vaulta.statements.accounts")
+                .description("Accounts walked by the statement job")
+                .register(meterRegistry);
+        this.statementsWritten = Counter.builder("vaulta.statements.written")
+                .description("Statements written by the statement job")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("vaulta.statements.chunk")
+                .description("Time to write one chunk of statements")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${application.statements.cron:0 30 1 1 * *}")
+    public void generatePreviousMonth() {
+        start(YearMonth.now().minusMonths(1));
+    }
+
+    // Picks up ranges whose worker died (on this node or another) once their lease has run out.
+    @Scheduled(
+            initialDelayString = "${application.statements.resume-interval:10m}",
+            fixedDelayString = "${application.statements.resume-interval:10m}"
+    )
+    public void resumeIncomplete() {
+        jdbcTemplate.query("SELECT period FROM statement_runs WHERE completed_at IS NULL",
+                        (rs, rowNum) -> YearMonth.from(rs.getDate("period").toLocalDate()))
+                .forEach(this::submitPending);
+    }
+
+    public StatementRunDTO start(YearMonth period) {
+        if (!period.isBefore(YearMonth.now())) {
+            throw new BusinessLogicException("Statements can only be generated for completed months");
+        }
+
+        LocalDate periodEnd = period.atEndOfMonth();
+        balanceSnapshotService.snapshotThrough(periodEnd);
+        LocalDate watermark = jdbcTemplate.queryForObject(
+                "SELECT last_date FROM balance_snapshot_watermark WHERE id = 1", LocalDate.class);
+        if (watermark == null || watermark.isBefore(periodEnd)) {
+            throw new BusinessLogicException("Daily balances for " + period + " are still being written, retry shortly");
+        }
+
+        Date key = Date.valueOf(period.atDay(1));
+        transactionTemplate.executeWithoutResult(status -> {
+            int created = jdbcTemplate.update("""
+                    INSERT INTO statement_runs (period, partitions, started_at) VALUES (?, 0, LOCALTIMESTAMP)
+                    ON CONFLICT (period) DO NOTHING
+                    """, key);
+            if (created == 1) {
+                int ranges = jdbcTemplate.update(PARTITION_SQL, key, partitions);
+                jdbcTemplate.update("UPDATE statement_runs SET partitions = ? WHERE period = ?", ranges, key);
+                jdbcTemplate.update(COMPLETE_RUN_SQL, key, key);
+                log.info("Started statement run for {} over {} account ranges", period, ranges);
+            }
+        });
+
+        submitPending(period);
+        return getRun(period);
+    }
+
+    public StatementRunDTO getRun(YearMonth period) {
+        List<StatementRunDTO> runs = jdbcTemplate.query(RUN_SQL, (rs, rowNum) -> {
+            Timestamp completedAt = rs.getTimestamp("completed_at");
+            return new StatementRunDTO(
+                    period,
+                    rs.getInt("partitions"),
+                    rs.getInt("completed_partitions"),
+                    rs.getLong("accounts_processed"),
+                    rs.getTimestamp("started_at").toLocalDateTime(),
+                    completedAt != null ? completedAt.toLocalDateTime() : null
+            );
+        }, Date.valueOf(period.atDay(1)));
+        if (runs.isEmpty()) {
+            throw new StatementNotFoundException("No statement run for " + period);
+        }
+        return runs.get(0);
+    }
+
+    private void submitPending(YearMonth period) {
+        Date key = Date.valueOf(period.atDay(1));
+        List<Integer> pending = jdbcTemplate.queryForList("""
+                SELECT partition_no FROM statement_run_partitions
+                WHERE period = ? AND completed_at IS NULL AND (lease_until IS NULL OR lease_until < LOCALTIMESTAMP)
+                ORDER BY partition_no
+                """, Integer.class, key);
+        for (Integer partitionNo : pending) {
+            executor.execute(() -> {
+                try {
+                    runPartition(key, partitionNo);
+                } catch (RuntimeException e) {
+                    log.error("Statement range {} of {} failed, it will be resumed after its lease expires",
+                            partitionNo, period, e);
+                }
+            });
+        }
+    }
+
+    private void runPartition(Date period, int partitionNo) {
+        UUID owner = UUID.randomUUID();
+        List<Range> claimed = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new Range(rs.getString("upper_bound"), rs.getString("last_account_number")),
+                owner, leaseSeconds, period, partitionNo);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Range range = claimed.get(0);
+        String checkpoint = range.checkpoint() != null ? range.checkpoint() : "";
+        long walked = 0;
+        long startedAt = System.nanoTime();
+        while (true) {
+            String after = checkpoint;
+            Chunk chunk = chunkTimer.record(() -> transactionTemplate.execute(
+                    status -> writeChunk(period, partitionNo, owner, range.upperBound(), after)));
+            if (chunk == null || chunk.size() == 0) {
+                break;
+            }
+            walked += chunk.size();
+            checkpoint = chunk.lastAccountNumber();
+        }
+
+        jdbcTemplate.update(COMPLETE_RUN_SQL, period, period);
+        long millis = Math.max(1, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        log.info("Statement range {} of {} done: {} accounts in {} ms ({} accounts/s)",
+                partitionNo, period.toLocalDate(), walked, millis, walked * 1000 / millis);
+    }
+
+    // Returns the chunk just written, or an empty one once the range is exhausted.
+    private Chunk writeChunk(Date period, int partitionNo, UUID owner, String upperBound, String after) {
+        LocalDate start = period.toLocalDate();
+        Timestamp from = Timestamp.valueOf(start.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(start.plusMonths(1).atStartOfDay());
+        Date periodEnd = Date.valueOf(start.plusMonths(1).minusDays(1));
+
+        Chunk chunk = jdbcTemplate.queryForObject(CHUNK_SQL,
+                (rs, rowNum) -> new Chunk(rs.getString("last_account_number"), rs.getLong("size")),
+                after, upperBound, chunkSize);
+        if (chunk == null || chunk.size() == 0) {
+            requireLease(jdbcTemplate.update(COMPLETE_PARTITION_SQL, period, partitionNo, owner), partitionNo);
+            return new Chunk(null, 0);
+        }
+
+        int written = jdbcTemplate.update(STATEMENT_SQL,
+                period, from, to, periodEnd, to, after, chunk.lastAccountNumber(), to);
+        requireLease(jdbcTemplate.update(CHECKPOINT_SQL,
+                chunk.lastAccountNumber(), chunk.size(), leaseSeconds, period, partitionNo, owner), partitionNo);
+
+        accountsProcessed.increment(chunk.size());
+        statementsWritten.increment(written);
+        return chunk;
+    }
+
+    // The lease ran out and another worker took the range over; roll this chunk back and let that worker go on.
+    private void requireLease(int updated, int partitionNo) {
+        if (updated == 0) {
+            throw new IllegalStateException("Lost the lease on statement range " + partitionNo);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted ranges keep their checkpoint and are resumed once their lease expires.
+        executor.shutdownNow();
+    }
+
+    private record Range(String upperBound, String checkpoint) {}
+
+    private record Chunk(String lastAccountNumber, long size) {}
+}
@@ -0,0 +1,54 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.dto.AccountStatementDTO;
+import com.github.sleepystack.vaulta.entity.Account;
+import com.github.sleepystack.vaulta.exception.AccountNotFoundException;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
+import com.github.sleepystack.vaulta.exception.StatementNotFoundException;
+import com.github.sleepystack.vaulta.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class StatementService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+
+    @Transactional(readOnly = true)
+    public AccountStatementDTO getStatement(String accountNumber, YearMonth period, String email) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+        if (!account.getUser().getEmail().equals(email)) {
+            throw new BusinessLogicException("Access denied: You do not own this account");
+        }
+
+        List<AccountStatementDTO> statements = jdbcTemplate.query("""
+                        SELECT opening_balance, closing_balance, total_credits, total_debits, transaction_count, generated_at
+                        FROM account_statements
+                        WHERE account_number = ? AND period = ?
+                        """,
+                (rs, rowNum) -> new AccountStatementDTO(
+                        accountNumber,
+                        period,
+                        rs.getBigDecimal("opening_balance"),
+                        rs.getBigDecimal("closing_balance"),
+                        rs.getBigDecimal("total_credits"),
+                        rs.getBigDecimal("total_debits"),
+                        rs.getLong("transaction_count"),
+                        rs.getTimestamp("generated_at").toLocalDateTime()
+                ),
+                accountNumber, Date.valueOf(period.atDay(1)));
+        if (statements.isEmpty()) {
+            throw new StatementNotFoundException("No statement for " + accountNumber + " in " + period);
+        }
+        return statements.get(0);
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.entity.Account;
+import com.github.sleepystack.vaulta.exception.AccountNotFoundException;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Striped balances for hot accounts. Credits to an account with balance slots update one slot row picked at random,
+ * so concurrent deposits spread over several row locks instead of queueing on the account row. Debits still lock
+ * the account row and pull the slots in when the row alone cannot cover them, and a background fold moves slot
+ * money back into the account row. Locks are always taken account row first, then its slots in slot order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubLedgerService {
+
+    public static final int MAX_SLOTS = 64;
+
+    // The joined rows are only read, not locked: a status change racing a credit is ordered by commit as usual.
+    private static final String CREDIT_SQL = """
+            UPDATE account_balance_slots s SET balance = s.balance + ?
+            FROM accounts a
+            JOIN users u ON u.id = a.user_id
+            WHERE s.account_number = ? AND s.slot = ?
+              AND a.account_number = s.account_number
+              AND a.balance_slots > 0
+              AND a.status::text = 'ACTIVE' AND NOT COALESCE(a.deleted, FALSE)
+              AND u.status::text = 'ACTIVE' AND NOT COALESCE(u.deleted, FALSE)
+            """;
+
+    private static final String DRAIN_SQL = """
+            WITH locked AS (
+                SELECT slot, balance FROM account_balance_slots
+                WHERE account_number = ? AND balance <> 0
+                ORDER BY slot
+                FOR UPDATE
+            ), drained AS (
+                UPDATE account_balance_slots s SET balance = 0
+                FROM locked l
+                WHERE s.account_number = ? AND s.slot = l.slot
+                RETURNING l.balance
+            )
+            SELECT COALESCE(SUM(balance), 0) FROM drained
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Routing hint only: a stale entry costs a failed credit and a fall back to the locked path, never money.
+    private volatile Map<String, Integer> slotCounts = Map.of();
+
+    public boolean isSharded(String accountNumber) {
+        return slotCounts.containsKey(accountNumber);
+    }
+
+    // Returns false when the account is not sharded or cannot take credits; callers then use the regular locked path.
+    public boolean tryCredit(String accountNumber, BigDecimal amount) {
+        Integer slots = slotCounts.get(accountNumber);
+        if (slots == null) {
+            return false;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        return jdbcTemplate.update(CREDIT_SQL, amount, accountNumber, slot) == 1;
+    }
+
+    // The caller must hold the lock on the account row; the managed entity is updated so its flush carries the sum.
+    public void drainInto(Account account) {
+        BigDecimal drained = drain(account.getAccountNumber());
+        if (drained.signum() != 0) {
+            account.setBalance(account.getBalance().add(drained));
+            account.setSlottedBalance(BigDecimal.ZERO);
+        }
+    }
+
+    @Transactional
+    public void configure(String accountNumber, int slots) {
+        if (slots < 0 || slots > MAX_SLOTS) {
+            throw new BusinessLogicException("Balance slots must be between 0 and " + MAX_SLOTS);
+        }
+        List<Integer> current = jdbcTemplate.queryForList(
+                "SELECT balance_slots FROM accounts WHERE account_number = ? AND NOT COALESCE(deleted, FALSE) FOR UPDATE",
+                Integer.class, accountNumber);
+        if (current.isEmpty()) {
+            throw new AccountNotFoundException("Account not found");
+        }
+
+        if (slots > 0) {
+            jdbcTemplate.update("""
+                    INSERT INTO account_balance_slots (account_number, slot)
+                    SELECT ?, generate_series(0, ?)
+                    ON CONFLICT (account_number, slot) DO NOTHING
+                    """, accountNumber, slots - 1);
+        }
+        jdbcTemplate.update("UPDATE accounts SET balance_slots = ? WHERE account_number = ?", slots, accountNumber);
+        if (slots == 0) {
+            foldLocked(accountNumber);
+        }
+        log.info("Account {} balance slots changed from {} to {}", accountNumber, current.get(0), slots);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshSlotCounts();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.sub-ledger.refresh-interval:10s}")
+    public void refreshSlotCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT account_number, balance_slots FROM accounts WHERE balance_slots > 0",
+                rs -> {
+                    counts.put(rs.getString("account_number"), rs.getInt("balance_slots"));
+                });
+        slotCounts = Map.copyOf(counts);
+    }
+
+    @Scheduled(fixedDelayString = "${application.sub-ledger.fold-interval:5s}")
+    public void fold() {
+        List<String> pending = jdbcTemplate.queryForList(
+                "SELECT DISTINCT account_number FROM account_balance_slots WHERE balance <> 0", String.class);
+        for (String accountNumber : pending) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForList("SELECT id FROM accounts WHERE account_number = ? FOR UPDATE",
+                        Long.class, accountNumber);
+                foldLocked(accountNumber);
+            });
+        }
+    }
+
+    private void foldLocked(String accountNumber) {
+        BigDecimal drained = drain(accountNumber);
+        if (drained.signum() != 0) {
+            jdbcTemplate.update("UPDATE accounts SET balance = balance + ? WHERE account_number = ?", drained, accountNumber);
+        }
+    }
+
+    private BigDecimal drain(String accountNumber) {
+        return jdbcTemplate.queryForObject(DRAIN_SQL, BigDecimal.class, accountNumber, accountNumber);
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.sleepystack.vaulta.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SystemStatsService {
+
+    private static final String TOTALS_SQL = """
+            SELECT COALESCE(SUM(total_users), 0) AS total_users,
+                   COALESCE(SUM(active_users), 0) AS active_users,
+                   COALESCE(SUM(frozen_users), 0) AS frozen_users,
+                   COALESCE(SUM(total_balance), 0) AS total_balance,
+                   COALESCE(SUM(total_transactions), 0) AS total_transactions
+            FROM (
+                SELECT total_users, active_users, frozen_users, total_balance, total_transactions FROM system_stats
+                UNION ALL
+                SELECT total_users, active_users, frozen_users, total_balance, total_transactions FROM system_stats_deltas
+            ) counters
+            """;
+
+    // Deltas a concurrent fold already deleted are skipped once its DELETE commits, so nothing is counted twice.
+    private static final String FOLD_SQL = """
+            WITH moved AS (
+                DELETE FROM system_stats_deltas RETURNING *
+            )
+            UPDATE system_stats s SET
+                total_users = s.total_users + d.total_users,
+                active_users = s.active_users + d.active_users,
+                frozen_users = s.frozen_users + d.frozen_users,
+                total_balance = s.total_balance + d.total_balance,
+                total_transactions = s.total_transactions + d.total_transactions
+            FROM (
+                SELECT COUNT(*) AS n,
+                       COALESCE(SUM(total_users), 0) AS total_users,
+                       COALESCE(SUM(active_users), 0) AS active_users,
+                       COALESCE(SUM(frozen_users), 0) AS frozen_users,
+                       COALESCE(SUM(total_balance), 0) AS total_balance,
+                       COALESCE(SUM(total_transactions), 0) AS total_transactions
+                FROM moved
+            ) d
+            WHERE s.slot = 0 AND d.n > 0
+            """;
+
+    // A single statement sees one snapshot, so the recount and the counters it is compared with are consistent
+    // with each other even while writers keep adding deltas.
+    private static final String DRIFT_SQL = """
+            SELECT (SELECT COUNT(*) FROM users WHERE NOT COALESCE(deleted, FALSE)) - s.total_users AS total_users,
+                   (SELECT COUNT(*) FROM users WHERE NOT COALESCE(deleted, FALSE) AND status::text = 'ACTIVE') - s.active_users AS active_users,
+                   (SELECT COUNT(*) FROM users WHERE NOT COALESCE(deleted, FALSE) AND status::text = 'FROZEN') - s.frozen_users AS frozen_users,
+                   (SELECT COALESCE(SUM(balance), 0) FROM accounts WHERE NOT COALESCE(deleted, FALSE))
+                       + (SELECT COALESCE(SUM(balance), 0) FROM account_balance_slots) - s.total_balance AS total_balance,
+                   (SELECT COUNT(*) FROM transactions) - s.total_transactions AS total_transactions
+            FROM (%s) s
+            """.formatted(TOTALS_SQL);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Totals current() {
+        return jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> new Totals(
+                rs.getLong("total_users"),
+                rs.getLong("active_users"),
+                rs.getLong("frozen_users"),
+                rs.getBigDecimal("total_balance"),
+                rs.getLong("total_transactions")
+        ));
+    }
+
+    @Scheduled(fixedDelayString = "${application.stats.fold-interval:5s}")
+    public void fold() {
+        jdbcTemplate.update(FOLD_SQL);
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.stats.reconcile-interval:1h}",
+            fixedDelayString = "${application.stats.reconcile-interval:1h}"
+    )
+    public void reconcile() {
+        Totals drift = jdbcTemplate.queryForObject(DRIFT_SQL, (rs, rowNum) -> new Totals(
+                rs.getLong("total_users"),
+                rs.getLong("active_users"),
+                rs.getLong("frozen_users"),
+                rs.getBigDecimal("total_balance"),
+                rs.getLong("total_transactions")
+        ));
+        if (drift == null || drift.isZero()) {
+            return;
+        }
+
+        log.warn("System statistics drifted, correcting by {}", drift);
+        jdbcTemplate.update("""
+                        UPDATE system_stats SET
+                            total_users = total_users + ?,
+                            active_users = active_users + ?,
+                            frozen_users = frozen_users + ?,
+                            total_balance = total_balance + ?,
+                            total_transactions = total_transactions + ?
+                        WHERE slot = 0
+                        """,
+                drift.totalUsers(), drift.activeUsers(), drift.frozenUsers(), drift.totalBalance(), drift.totalTransactions());
+    }
+
+    public record Totals(long totalUsers, long activeUsers, long frozenUsers, BigDecimal totalBalance, long totalTransactions) {
+
+        boolean isZero() {
+            return totalUsers == 0 && activeUsers == 0 && frozenUsers == 0
+                    && totalBalance.signum() == 0 && totalTransactions == 0;
+        }
+    }
+}
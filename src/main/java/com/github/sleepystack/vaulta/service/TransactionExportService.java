@@ -0,0 +1,118 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.dto.TransactionResponseDTO;
+import com.github.sleepystack.vaulta.entity.Account;
+import com.github.sleepystack.vaulta.entity.Transaction;
+import com.github.sleepystack.vaulta.entity.enumeration.ExportFormat;
+import com.github.sleepystack.vaulta.exception.AccountNotFoundException;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
+import com.github.sleepystack.vaulta.repository.AccountRepository;
+import com.github.sleepystack.vaulta.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final String CSV_HEADER = "id,type,amount,from_account_number,to_account_number,timestamp";
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // Runs before the response is committed so ownership errors still map to a proper error status.
+    @Transactional(readOnly = true)
+    public void checkAccountAccess(String accountNumber, String email) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+
+        if (!account.getUser().getEmail().equals(email)) {
+            throw new BusinessLogicException("Access denied");
+        }
+    }
+
+    public void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BusinessLogicException("Export range start must be before its end");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAccountHistory(String accountNumber, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Transaction> rows = transactionRepository.streamByAccountNumber(accountNumber)) {
+            long written = write(rows, format, out);
+            log.info("Exported {} transactions for account {}", written, accountNumber);
+            return written;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportRange(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Transaction> rows = transactionRepository.streamByTimestampRange(from, to)) {
+            long written = write(rows, format, out);
+            log.info("ADMIN: Exported {} transactions between {} and {}", written, from, to);
+            return written;
+        }
+    }
+
+    private long write(Stream<Transaction> rows, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        Iterator<Transaction> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Transaction t = iterator.next();
+            writer.write(format == ExportFormat.CSV ? toCsv(t) : toJson(t));
+            writer.write('\n');
+            // Detach each row so the persistence context stays empty no matter how many rows are exported.
+            entityManager.detach(t);
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private String toCsv(Transaction t) {
+        return t.getId() + ","
+                + t.getType().name() + ","
+                + t.getAmount().toPlainString() + ","
+                + (t.getFromAccountNumber() != null ? t.getFromAccountNumber() : "") + ","
+                + (t.getToAccountNumber() != null ? t.getToAccountNumber() : "") + ","
+                + t.getTimestamp();
+    }
+
+    private String toJson(Transaction t) {
+        return objectMapper.writeValueAsString(new TransactionResponseDTO(
+                t.getId(),
+                t.getType().name(),
+                t.getAmount(),
+                t.getFromAccountNumber(),
+                t.getToAccountNumber(),
+                t.getTimestamp()
+        ));
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.sleepystack.vaulta.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} ahead of the clock and, when a retention is configured,
+ * detaches partitions that fell out of it into the {@code transactions_archive} schema, where they stay queryable
+ * for export but no longer weigh on the live table's planning, vacuum or index maintenance.
+ */
+@Slf4j
+@Service
+public class TransactionPartitionService {
+
+    private static final long MAINTENANCE_LOCK_ID = 0x7061727469L;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public TransactionPartitionService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${application.transactions.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${application.transactions.partitions.retention-months:0}") int retentionMonths
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.transactions.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_ID);
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++) {
+                jdbcTemplate.queryForObject("SELECT create_transactions_partition(?)", String.class,
+                        Date.valueOf(current.plusMonths(i).atDay(1)));
+            }
+
+            if (retentionMonths > 0) {
+                archiveBefore(current.minusMonths(retentionMonths));
+            }
+        });
+    }
+
+    private void archiveBefore(YearMonth oldestKept) {
+        // Names come from the catalog and are matched against the generated pattern, so they are safe to inline.
+        List<String> expired = jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = 'transactions'
+                          AND c.relname ~ '^transactions_[0-9]{4}_[0-9]{2}$'
+                          AND c.relname < ?
+                        ORDER BY c.relname
+                        """,
+                String.class, "transactions_" + oldestKept.format(PARTITION_SUFFIX));
+
+        for (String partition : expired) {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA transactions_archive");
+            log.info("Archived transaction partition {}", partition);
+        }
+    }
+}
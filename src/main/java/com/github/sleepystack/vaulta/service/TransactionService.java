@@ -1,14 +1,24 @@
 package com.github.sleepystack.vaulta.service;
 
+import com.github.sleepystack.vaulta.dto.BatchTransferItemResultDTO;
+import com.github.sleepystack.vaulta.dto.BatchTransferResponseDTO;
+import com.github.sleepystack.vaulta.dto.CursorPageDTO;
+import com.github.sleepystack.vaulta.dto.TransactionDTO;
 import com.github.sleepystack.vaulta.dto.TransactionResponseDTO;
 import com.github.sleepystack.vaulta.entity.Account;
+import com.github.sleepystack.vaulta.entity.LedgerOutboxEvent;
 import com.github.sleepystack.vaulta.entity.Transaction;
+import com.github.sleepystack.vaulta.entity.enumeration.BatchItemStatus;
+import com.github.sleepystack.vaulta.entity.enumeration.BatchMode;
 import com.github.sleepystack.vaulta.entity.enumeration.TransactionType;
 import com.github.sleepystack.vaulta.exception.AccountNotFoundException;
+import com.github.sleepystack.vaulta.exception.BankException;
 import com.github.sleepystack.vaulta.exception.BusinessLogicException;
 import com.github.sleepystack.vaulta.exception.InsufficientFundsException;
 import com.github.sleepystack.vaulta.repository.AccountRepository;
+import com.github.sleepystack.vaulta.repository.LedgerOutboxRepository;
 import com.github.sleepystack.vaulta.repository.TransactionRepository;
+import com.github.sleepystack.vaulta.util.TransactionCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,6 +27,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,12 +44,21 @@ public class TransactionService {
 
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final LedgerOutboxRepository ledgerOutboxRepository;
+    private final SubLedgerService subLedgerService;
     @Transactional
     public void deposit(String accountNumber, BigDecimal amount) {
         if (amount. compareTo(BigDecimal. ZERO) <= 0) {
             throw new BusinessLogicException("Deposit amount must be positive");
         }
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        checkAccountNumber(accountNumber);
+        // Hot accounts take credits into a sub-ledger slot without locking their row.
+        if (subLedgerService.tryCredit(accountNumber, amount)) {
+            log.info("Deposit: {} into sub-ledger of account {}", amount, accountNumber);
+            saveTransaction(TransactionType.DEPOSIT, null, accountNumber, amount);
+            return;
+        }
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found"));
         account.ensureActive();
         account.setBalance(account.getBalance().add(amount));
@@ -41,14 +69,15 @@ public class TransactionService {
 
     @Transactional
     public void withdraw(String accountNumber, BigDecimal amount, String currentUserEmail) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        checkAccountNumber(accountNumber);
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found"));
         account.ensureActive();
         if (!account.getUser().getEmail().equals(currentUserEmail)) {
             throw new BusinessLogicException("Unauthorized: You do not own this account");
         }
 
-        if (account.getBalance().compareTo(amount) < 0) {
+        if (availableFor(account, amount).compareTo(amount) < 0) {
             throw new InsufficientFundsException("Insufficient funds");
         }
 
@@ -60,29 +89,183 @@ public class TransactionService {
 
     @Transactional
     public void transfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String currentUserEmail) {
-        withdraw(fromAccountNumber, amount, currentUserEmail);
+        validateTransferRequest(fromAccountNumber, toAccountNumber, amount);
+
+        // A hot target is credited through its sub-ledger, so only the source row is locked. The source lock comes
+        // first, keeping the account-row-then-slots order every other path uses. Only a source sorting below the
+        // target takes this path: a missed credit then falls back to lockAccounts, which adds the target lock after
+        // the source one, still in account-number order. Other sources lock both rows in order up front.
+        if (subLedgerService.isSharded(toAccountNumber) && fromAccountNumber.compareTo(toAccountNumber) < 0) {
+            Account source = accountRepository.findByAccountNumberForUpdate(fromAccountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException(fromAccountNumber));
+            source.ensureActive();
+            checkDebit(source, amount, currentUserEmail, availableFor(source, amount));
+            if (subLedgerService.tryCredit(toAccountNumber, amount)) {
+                source.setBalance(source.getBalance().subtract(amount));
+                log.info("Transfer: {} from {} to sub-ledger of {}", amount, fromAccountNumber, toAccountNumber);
+                saveTransaction(TransactionType.TRANSFER, fromAccountNumber, toAccountNumber, amount);
+                return;
+            }
+        }
 
-        deposit(toAccountNumber, amount);
+        Map<String, Account> accounts = lockAccounts(List.of(fromAccountNumber, toAccountNumber));
+        Account source = requireAccount(accounts, fromAccountNumber);
+        Account target = requireAccount(accounts, toAccountNumber);
+        checkTransfer(source, target, amount, currentUserEmail, availableFor(source, amount));
 
+        source.setBalance(source.getBalance().subtract(amount));
+        target.setBalance(target.getBalance().add(amount));
         log.info("Transfer: {} from {} to {}", amount, fromAccountNumber, toAccountNumber);
 
+        // A single double-entry row: debits fromAccountNumber and credits toAccountNumber.
         saveTransaction(TransactionType.TRANSFER, fromAccountNumber, toAccountNumber, amount);
     }
 
+    // Every account in the batch is locked once, up front and in order; items are then checked against running
+    // balances in memory, so the batch costs one lock query plus batched updates and inserts.
+    @Transactional
+    public BatchTransferResponseDTO transferBatch(List<TransactionDTO> transfers, BatchMode mode, String currentUserEmail) {
+        Set<String> accountNumbers = new HashSet<>();
+        for (TransactionDTO t : transfers) {
+            accountNumbers.add(t.accountNumber());
+            if (t.targetAccountNumber() != null) {
+                accountNumbers.add(t.targetAccountNumber());
+            }
+        }
+        Map<String, Account> accounts = lockAccounts(accountNumbers);
+        // The rows are locked for the whole batch anyway, so hot accounts bring their slots in up front.
+        accounts.values().stream()
+                .filter(account -> account.getBalanceSlots() > 0)
+                .forEach(subLedgerService::drainInto);
+
+        Map<String, BigDecimal> balances = new HashMap<>();
+        List<Transaction> ledger = new ArrayList<>(transfers.size());
+        BankException[] errors = new BankException[transfers.size()];
+        int failed = 0;
+
+        for (int i = 0; i < transfers.size(); i++) {
+            TransactionDTO t = transfers.get(i);
+            try {
+                validateTransferRequest(t.accountNumber(), t.targetAccountNumber(), t.amount());
+                Account source = requireAccount(accounts, t.accountNumber());
+                Account target = requireAccount(accounts, t.targetAccountNumber());
+                BigDecimal available = balances.getOrDefault(source.getAccountNumber(), source.getBalance());
+                checkTransfer(source, target, t.amount(), currentUserEmail, available);
+
+                balances.put(source.getAccountNumber(), available.subtract(t.amount()));
+                balances.put(target.getAccountNumber(),
+                        balances.getOrDefault(target.getAccountNumber(), target.getBalance()).add(t.amount()));
+                ledger.add(newTransaction(TransactionType.TRANSFER, t.accountNumber(), t.targetAccountNumber(), t.amount()));
+            } catch (BankException e) {
+                errors[i] = e;
+                failed++;
+            }
+        }
+
+        boolean applied = mode == BatchMode.BEST_EFFORT || failed == 0;
+        if (applied) {
+            balances.forEach((accountNumber, balance) -> accounts.get(accountNumber).setBalance(balance));
+            transactionRepository.saveAll(ledger);
+            ledgerOutboxRepository.saveAll(ledger.stream().map(LedgerOutboxEvent::of).toList());
+        }
+        log.info("Batch transfer ({}): {} of {} transfers applied", mode, applied ? ledger.size() : 0, transfers.size());
+
+        List<BatchTransferItemResultDTO> results = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            TransactionDTO t = transfers.get(i);
+            BankException error = errors[i];
+            BatchItemStatus status = error != null ? BatchItemStatus.FAILED
+                    : applied ? BatchItemStatus.APPLIED : BatchItemStatus.NOT_APPLIED;
+            results.add(new BatchTransferItemResultDTO(
+                    i,
+                    t.accountNumber(),
+                    t.targetAccountNumber(),
+                    t.amount(),
+                    status,
+                    error != null ? error.getErrorCode() : null,
+                    error != null ? error.getMessage() : null
+            ));
+        }
+
+        return new BatchTransferResponseDTO(mode, applied, applied ? ledger.size() : 0, failed, results);
+    }
+
+    private void validateTransferRequest(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        if (toAccountNumber == null || toAccountNumber.isBlank()) {
+            throw new BusinessLogicException("Target account number is required");
+        }
+        checkAccountNumber(fromAccountNumber);
+        checkAccountNumber(toAccountNumber);
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new BusinessLogicException("Cannot transfer to the same account");
+        }
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessLogicException("Transfer amount must be positive");
+        }
+    }
+
+    // Catches a mistyped number before it costs a row lock or lands on someone else's account.
+    private void checkAccountNumber(String accountNumber) {
+        if (!AccountNumberAllocator.hasValidCheckDigit(accountNumber)) {
+            throw new BusinessLogicException("Invalid account number: " + accountNumber);
+        }
+    }
+
+    private void checkTransfer(Account source, Account target, BigDecimal amount, String currentUserEmail, BigDecimal available) {
+        source.ensureActive();
+        target.ensureActive();
+        checkDebit(source, amount, currentUserEmail, available);
+    }
+
+    private void checkDebit(Account source, BigDecimal amount, String currentUserEmail, BigDecimal available) {
+        if (!source.getUser().getEmail().equals(currentUserEmail)) {
+            throw new BusinessLogicException("Unauthorized: You do not own this account");
+        }
+        if (available.compareTo(amount) < 0) {
+            throw new InsufficientFundsException(source.getAccountNumber());
+        }
+    }
+
+    // Debits come out of the locked account row; when it runs short, a hot account first pulls in its slots.
+    private BigDecimal availableFor(Account account, BigDecimal amount) {
+        if (account.getBalance().compareTo(amount) < 0 && account.getBalanceSlots() > 0) {
+            subLedgerService.drainInto(account);
+        }
+        return account.getBalance();
+    }
+
+    private Map<String, Account> lockAccounts(Collection<String> accountNumbers) {
+        return accountRepository.findAllByAccountNumberInForUpdate(accountNumbers).stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+    }
+
+    private Account requireAccount(Map<String, Account> accounts, String accountNumber) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return account;
+    }
+
     private void saveTransaction(TransactionType type, String from, String to, BigDecimal amount) {
-        Transaction t = Transaction.builder()
+        Transaction t = transactionRepository.save(newTransaction(type, from, to, amount));
+        // Written in the same transaction so downstream consumers see exactly the committed ledger.
+        ledgerOutboxRepository.save(LedgerOutboxEvent.of(t));
+    }
+
+    private Transaction newTransaction(TransactionType type, String from, String to, BigDecimal amount) {
+        return Transaction.builder()
                 .type(type)
                 .fromAccountNumber(from)
                 .toAccountNumber(to)
                 .amount(amount)
                 .timestamp(java.time.LocalDateTime.now()) // Ensure timestamp is set
                 .build();
-        transactionRepository.save(t);
     }
 
     @Transactional(readOnly = true)
     public Page<TransactionResponseDTO> getHistory(String accountNumber, String email, Pageable pageable) {
-        Account account = accountRepository. findByAccountNumber(accountNumber)
+        Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found"));
 
         if (!account.getUser().getEmail().equals(email)) {
@@ -91,13 +274,39 @@ public class TransactionService {
 
         Page<Transaction> transactions = transactionRepository.findByAccountNumber(accountNumber, pageable);
 
-        return transactions.map(t -> new TransactionResponseDTO(
+        return transactions.map(this::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TransactionResponseDTO> getHistoryPage(String accountNumber, String email, String cursor, int size) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+
+        if (!account.getUser().getEmail().equals(email)) {
+            throw new BusinessLogicException("Access denied");
+        }
+
+        int pageSize = CursorPageDTO.clampPageSize(size);
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findRecentByAccountNumbers(List.of(accountNumber), pageSize + 1);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findByAccountNumberBefore(
+                    accountNumber, position.timestamp(), position.id(), pageSize + 1);
+        }
+
+        return TransactionCursor.toPage(rows, pageSize, this::toResponse);
+    }
+
+    private TransactionResponseDTO toResponse(Transaction t) {
+        return new TransactionResponseDTO(
                 t.getId(),
                 t.getType().name(),
                 t.getAmount(),
                 t.getFromAccountNumber() != null ? t.getFromAccountNumber() : "DEPOSIT",
                 t.getToAccountNumber() != null ? t.getToAccountNumber() : "WITHDRAWAL",
                 t.getTimestamp()
-        ));
+        );
     }
 }
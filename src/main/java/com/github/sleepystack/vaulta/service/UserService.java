@@ -25,6 +25,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final AccountService accountService;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Transactional
     public User registerUser(UserRegistrationDTO user) { // Return the Entity
@@ -61,17 +62,18 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(email);
 
         log.info("Password changed for user: {}", email);
     }
 
     @Transactional
     public void deleteUser(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findByIdWithAccounts(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
 
         BigDecimal totalBalance = user.getAccounts().stream()
-                .map(Account::getBalance)
+                .map(Account::getTotalBalance)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         if (totalBalance.compareTo(BigDecimal.ZERO) != 0) {
@@ -84,6 +86,7 @@ public class UserService {
 
         user.setStatus(Status.CLOSED);
         userRepository.delete(user);
+        principalCache.evict(user.getEmail());
 
         log.info("User {} and all accounts successfully closed via AccountService.", userId);
     }
@@ -34,5 +34,15 @@ public class DatabaseCleanup {
             entityManager.createNativeQuery("TRUNCATE TABLE " + tableName + " RESTART IDENTITY CASCADE")
                     .executeUpdate();
         }
+        // TRUNCATE bypasses the statistics triggers.
+        entityManager.createNativeQuery("UPDATE system_stats SET total_users = 0, active_users = 0, frozen_users = 0, "
+                + "total_balance = 0, total_transactions = 0")
+                .executeUpdate();
+        entityManager.createNativeQuery("TRUNCATE TABLE account_daily_balances, account_statements, statement_runs, "
+                + "account_balance_slots, async_transfers, system_stats_deltas CASCADE")
+                .executeUpdate();
+        entityManager.createNativeQuery("UPDATE balance_snapshot_watermark SET last_date = NULL").executeUpdate();
+        // The second-level cache would otherwise keep serving rows the truncation removed.
+        entityManager.getEntityManagerFactory().getCache().evictAll();
     }
 }
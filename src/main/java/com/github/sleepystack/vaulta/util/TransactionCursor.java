@@ -0,0 +1,45 @@
+package com.github.sleepystack.vaulta.util;
+
+import com.github.sleepystack.vaulta.dto.CursorPageDTO;
+import com.github.sleepystack.vaulta.entity.Transaction;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset position in the (timestamp DESC, id DESC) transaction ordering.
+ */
+public record TransactionCursor(LocalDateTime timestamp, long id) {
+
+    public static TransactionCursor of(Transaction t) {
+        return new TransactionCursor(t.getTimestamp(), t.getId());
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessLogicException("Invalid pagination cursor");
+        }
+    }
+
+    public static <R> CursorPageDTO<R> toPage(List<Transaction> rows, int size, Function<Transaction, R> mapper) {
+        CursorPageDTO<Transaction> page = CursorPageDTO.of(rows, size, t -> of(t).encode());
+        return new CursorPageDTO<>(page.content().stream().map(mapper).toList(), page.nextCursor(), page.hasNext());
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,16 @@
+-- Closing balance of an account at the end of each day it moved. Days without movement carry the previous row
+-- forward, so dormant accounts cost nothing.
+CREATE TABLE account_daily_balances (
+                                        account_number VARCHAR(20) NOT NULL,
+                                        balance_date DATE NOT NULL,
+                                        closing_balance DECIMAL(15, 2) NOT NULL,
+                                        CONSTRAINT pk_account_daily_balances PRIMARY KEY (account_number, balance_date)
+);
+
+-- Last day the snapshot job has fully covered; every movement on or before it is reflected in a snapshot row.
+CREATE TABLE balance_snapshot_watermark (
+                                            id SMALLINT PRIMARY KEY CHECK (id = 1),
+                                            last_date DATE
+);
+
+INSERT INTO balance_snapshot_watermark (id, last_date) VALUES (1, NULL);
@@ -0,0 +1,37 @@
+-- Rows that predate this column stay NULL and are treated as having always existed.
+ALTER TABLE accounts ADD COLUMN created_at TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE accounts ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TABLE account_statements (
+                                    account_number VARCHAR(20) NOT NULL,
+                                    period DATE NOT NULL,
+                                    opening_balance DECIMAL(15, 2) NOT NULL,
+                                    closing_balance DECIMAL(15, 2) NOT NULL,
+                                    total_credits DECIMAL(15, 2) NOT NULL,
+                                    total_debits DECIMAL(15, 2) NOT NULL,
+                                    transaction_count BIGINT NOT NULL,
+                                    generated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                                    CONSTRAINT pk_account_statements PRIMARY KEY (account_number, period)
+);
+
+CREATE TABLE statement_runs (
+                                period DATE PRIMARY KEY,
+                                partitions INT NOT NULL,
+                                started_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                                completed_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+-- Each partition is a contiguous account_number range walked in chunks; last_account_number is the resume point
+-- and the lease keeps two workers (on any node) off the same range.
+CREATE TABLE statement_run_partitions (
+                                          period DATE NOT NULL REFERENCES statement_runs (period) ON DELETE CASCADE,
+                                          partition_no INT NOT NULL,
+                                          lower_bound VARCHAR(20),
+                                          upper_bound VARCHAR(20),
+                                          last_account_number VARCHAR(20),
+                                          accounts_processed BIGINT NOT NULL DEFAULT 0,
+                                          lease_owner UUID,
+                                          lease_until TIMESTAMP WITHOUT TIME ZONE,
+                                          completed_at TIMESTAMP WITHOUT TIME ZONE,
+                                          CONSTRAINT pk_statement_run_partitions PRIMARY KEY (period, partition_no)
+);
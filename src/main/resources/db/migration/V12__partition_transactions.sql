@@ -0,0 +1,67 @@
+-- Monthly range partitions on timestamp. A partitioned table's primary key must include the partition key, and
+-- there is deliberately no DEFAULT partition: it would stop the planner from scanning partitions in order for
+-- ORDER BY timestamp ... LIMIT queries. TransactionPartitionService keeps partitions created ahead of time.
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT transactions_pkey TO transactions_unpartitioned_pkey;
+DROP INDEX idx_transactions_from_account_ts;
+DROP INDEX idx_transactions_to_account_ts;
+DROP INDEX idx_transactions_ts_id;
+
+CREATE TABLE transactions (
+                              id BIGINT NOT NULL DEFAULT nextval('transactions_id_seq'),
+                              type transaction_type NOT NULL,
+                              amount DECIMAL(15, 2) NOT NULL,
+                              from_account_number VARCHAR(20),
+                              to_account_number VARCHAR(20),
+                              timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                              CONSTRAINT transactions_pkey PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Move the sequence over before the old table (and with it the sequence it owns) is dropped.
+ALTER SEQUENCE transactions_id_seq OWNED BY transactions.id;
+
+CREATE FUNCTION create_transactions_partition(for_month DATE) RETURNS TEXT AS $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', for_month::timestamp);
+    partition_name TEXT := 'transactions_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_start + INTERVAL '1 month');
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    partition_month DATE;
+BEGIN
+    FOR partition_month IN
+        SELECT generate_series(
+                       date_trunc('month', COALESCE((SELECT MIN(timestamp) FROM transactions_unpartitioned), LOCALTIMESTAMP)),
+                       date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months',
+                       INTERVAL '1 month')::date
+    LOOP
+        PERFORM create_transactions_partition(partition_month);
+    END LOOP;
+END;
+$$;
+
+-- The statistics triggers are only recreated afterwards: these rows are already counted.
+INSERT INTO transactions (id, type, amount, from_account_number, to_account_number, timestamp)
+SELECT id, type, amount, from_account_number, to_account_number, timestamp FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Declared on the parent, so every current and future partition gets its own local copy.
+CREATE INDEX idx_transactions_from_account_ts ON transactions (from_account_number, timestamp DESC, id DESC);
+CREATE INDEX idx_transactions_to_account_ts ON transactions (to_account_number, timestamp DESC, id DESC);
+CREATE INDEX idx_transactions_ts_id ON transactions (timestamp DESC, id DESC);
+
+-- Statement-level triggers on the parent see the transition rows of every partition a statement touches.
+CREATE TRIGGER trg_transactions_stats_insert AFTER INSERT ON transactions
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_transactions();
+CREATE TRIGGER trg_transactions_stats_delete AFTER DELETE ON transactions
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_transactions();
+
+-- Partitions past retention are detached into this schema rather than dropped.
+CREATE SCHEMA IF NOT EXISTS transactions_archive;
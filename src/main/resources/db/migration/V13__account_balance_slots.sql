@@ -0,0 +1,43 @@
+-- Opt-in sub-ledger for hot accounts: credits land on one of balance_slots rows picked at random instead of the
+-- account row, and are folded back into accounts.balance in the background. An account's balance is always
+-- accounts.balance plus the sum of its slots. Slot rows are never deleted, so a credit racing a reconfiguration
+-- still has a row to land on.
+ALTER TABLE accounts ADD COLUMN balance_slots SMALLINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_accounts_balance_slots ON accounts (account_number) WHERE balance_slots > 0;
+
+CREATE TABLE account_balance_slots (
+                                       account_number VARCHAR(20) NOT NULL,
+                                       slot SMALLINT NOT NULL,
+                                       balance DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+                                       CONSTRAINT pk_account_balance_slots PRIMARY KEY (account_number, slot)
+) WITH (fillfactor = 50);
+
+CREATE FUNCTION system_stats_balance_slots() RETURNS TRIGGER AS $$
+DECLARE
+    d_balance DECIMAL(19, 2) := 0;
+    o_balance DECIMAL(19, 2) := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO d_balance FROM new_rows;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO o_balance FROM old_rows;
+    END IF;
+
+    d_balance := d_balance - o_balance;
+
+    IF d_balance <> 0 THEN
+        UPDATE system_stats SET total_balance = total_balance + d_balance
+        WHERE slot = system_stats_slot();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_balance_slots_stats_insert AFTER INSERT ON account_balance_slots
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_balance_slots();
+CREATE TRIGGER trg_balance_slots_stats_update AFTER UPDATE ON account_balance_slots
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_balance_slots();
+CREATE TRIGGER trg_balance_slots_stats_delete AFTER DELETE ON account_balance_slots
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_balance_slots();
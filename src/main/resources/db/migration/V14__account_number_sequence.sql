@@ -0,0 +1,9 @@
+-- Account numbers are allocated from this sequence in blocks: every nextval() reserves the next 1000 values for
+-- the calling node, which hands them out from memory. New numbers are 12 digits (888 + 8-digit body + Luhn check
+-- digit), so they can never collide with the 10-digit random numbers issued before.
+CREATE SEQUENCE account_number_seq
+    START WITH 1
+    INCREMENT BY 1000
+    MINVALUE 1
+    MAXVALUE 99998001
+    NO CYCLE;
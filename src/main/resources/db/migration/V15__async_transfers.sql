@@ -0,0 +1,20 @@
+-- Accepted asynchronous transfers. The row is the queue entry and the status at once, so any node can report on
+-- it and any node can finish it: a worker claims a row with a lease, and rows still PENDING or with an expired
+-- lease (their node died or shut down) are picked up again by recovery.
+CREATE TABLE async_transfers (
+                                 id UUID PRIMARY KEY,
+                                 owner_email VARCHAR(255) NOT NULL,
+                                 from_account_number VARCHAR(20) NOT NULL,
+                                 to_account_number VARCHAR(20) NOT NULL,
+                                 amount DECIMAL(15, 2) NOT NULL,
+                                 status VARCHAR(20) NOT NULL,
+                                 error_code VARCHAR(64),
+                                 message TEXT,
+                                 submitted_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                                 completed_at TIMESTAMP WITHOUT TIME ZONE,
+                                 lease_owner UUID,
+                                 lease_until TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE INDEX idx_async_transfers_open ON async_transfers (submitted_at) WHERE completed_at IS NULL;
+CREATE INDEX idx_async_transfers_completed_at ON async_transfers (completed_at) WHERE completed_at IS NOT NULL;
@@ -0,0 +1,123 @@
+-- The statistics triggers no longer update system_stats themselves: every write statement on users, accounts,
+-- account_balance_slots and transactions appends its delta here instead, and a scheduled fold moves the deltas
+-- into the single system_stats row. Appending takes no row lock, so a transfer or sub-ledger credit can no longer
+-- queue or deadlock on a shared counter row. The price is one small heap insert per write statement (the table
+-- has no indexes) plus the fold; readers add the not yet folded deltas, so totals stay exact.
+CREATE TABLE system_stats_deltas (
+                                     total_users BIGINT NOT NULL DEFAULT 0,
+                                     active_users BIGINT NOT NULL DEFAULT 0,
+                                     frozen_users BIGINT NOT NULL DEFAULT 0,
+                                     total_balance DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+                                     total_transactions BIGINT NOT NULL DEFAULT 0
+);
+
+UPDATE system_stats s SET
+    total_users = t.total_users,
+    active_users = t.active_users,
+    frozen_users = t.frozen_users,
+    total_balance = t.total_balance,
+    total_transactions = t.total_transactions
+FROM (
+    SELECT SUM(total_users) AS total_users, SUM(active_users) AS active_users, SUM(frozen_users) AS frozen_users,
+           SUM(total_balance) AS total_balance, SUM(total_transactions) AS total_transactions
+    FROM system_stats
+) t
+WHERE s.slot = 0;
+
+DELETE FROM system_stats WHERE slot <> 0;
+
+CREATE OR REPLACE FUNCTION system_stats_users() RETURNS TRIGGER AS $$
+DECLARE
+    d_total BIGINT := 0;
+    d_active BIGINT := 0;
+    d_frozen BIGINT := 0;
+    o_total BIGINT := 0;
+    o_active BIGINT := 0;
+    o_frozen BIGINT := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COUNT(*),
+               COUNT(*) FILTER (WHERE status::text = 'ACTIVE'),
+               COUNT(*) FILTER (WHERE status::text = 'FROZEN')
+        INTO d_total, d_active, d_frozen
+        FROM new_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COUNT(*),
+               COUNT(*) FILTER (WHERE status::text = 'ACTIVE'),
+               COUNT(*) FILTER (WHERE status::text = 'FROZEN')
+        INTO o_total, o_active, o_frozen
+        FROM old_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+
+    d_total := d_total - o_total;
+    d_active := d_active - o_active;
+    d_frozen := d_frozen - o_frozen;
+
+    IF d_total <> 0 OR d_active <> 0 OR d_frozen <> 0 THEN
+        INSERT INTO system_stats_deltas (total_users, active_users, frozen_users) VALUES (d_total, d_active, d_frozen);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION system_stats_accounts() RETURNS TRIGGER AS $$
+DECLARE
+    d_balance DECIMAL(19, 2) := 0;
+    o_balance DECIMAL(19, 2) := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO d_balance FROM new_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO o_balance FROM old_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+
+    d_balance := d_balance - o_balance;
+
+    IF d_balance <> 0 THEN
+        INSERT INTO system_stats_deltas (total_balance) VALUES (d_balance);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION system_stats_balance_slots() RETURNS TRIGGER AS $$
+DECLARE
+    d_balance DECIMAL(19, 2) := 0;
+    o_balance DECIMAL(19, 2) := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO d_balance FROM new_rows;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO o_balance FROM old_rows;
+    END IF;
+
+    d_balance := d_balance - o_balance;
+
+    IF d_balance <> 0 THEN
+        INSERT INTO system_stats_deltas (total_balance) VALUES (d_balance);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION system_stats_transactions() RETURNS TRIGGER AS $$
+DECLARE
+    d_count BIGINT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT COUNT(*) INTO d_count FROM new_rows;
+    ELSE
+        SELECT -COUNT(*) INTO d_count FROM old_rows;
+    END IF;
+
+    IF d_count <> 0 THEN
+        INSERT INTO system_stats_deltas (total_transactions) VALUES (d_count);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION system_stats_slot();
@@ -0,0 +1,2 @@
+-- Hibernate's pooled optimizer reserves 50 ids per nextval() call, which lets transaction inserts be JDBC-batched.
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
@@ -0,0 +1,2 @@
+CREATE INDEX idx_transactions_from_account_ts ON transactions (from_account_number, timestamp DESC, id DESC);
+CREATE INDEX idx_transactions_to_account_ts ON transactions (to_account_number, timestamp DESC, id DESC);
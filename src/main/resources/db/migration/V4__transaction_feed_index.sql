@@ -0,0 +1 @@
+CREATE INDEX idx_transactions_ts_id ON transactions (timestamp DESC, id DESC);
@@ -0,0 +1,19 @@
+CREATE TABLE rate_limit_buckets (
+                                    id VARCHAR(128) PRIMARY KEY,
+                                    state BYTEA,
+                                    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_rate_limit_buckets_updated_at ON rate_limit_buckets (updated_at);
+
+-- Bucket4j only writes id and state; keep updated_at current so idle buckets can be purged.
+CREATE FUNCTION touch_rate_limit_bucket() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at := CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_rate_limit_buckets_touch
+    BEFORE UPDATE ON rate_limit_buckets
+    FOR EACH ROW EXECUTE FUNCTION touch_rate_limit_bucket();
@@ -0,0 +1,124 @@
+-- Running totals for the admin dashboard, kept current by statement-level triggers.
+-- Writers add their deltas to one of 16 slots picked by backend pid, so concurrent transactions
+-- rarely queue on the same row and each transaction only ever locks a single slot.
+CREATE TABLE system_stats (
+                              slot SMALLINT PRIMARY KEY,
+                              total_users BIGINT NOT NULL DEFAULT 0,
+                              active_users BIGINT NOT NULL DEFAULT 0,
+                              frozen_users BIGINT NOT NULL DEFAULT 0,
+                              total_balance DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+                              total_transactions BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO system_stats (slot) SELECT generate_series(0, 15);
+
+UPDATE system_stats SET
+    total_users = (SELECT COUNT(*) FROM users WHERE NOT COALESCE(deleted, FALSE)),
+    active_users = (SELECT COUNT(*) FROM users WHERE NOT COALESCE(deleted, FALSE) AND status::text = 'ACTIVE'),
+    frozen_users = (SELECT COUNT(*) FROM users WHERE NOT COALESCE(deleted, FALSE) AND status::text = 'FROZEN'),
+    total_balance = (SELECT COALESCE(SUM(balance), 0) FROM accounts WHERE NOT COALESCE(deleted, FALSE)),
+    total_transactions = (SELECT COUNT(*) FROM transactions)
+WHERE slot = 0;
+
+CREATE FUNCTION system_stats_slot() RETURNS SMALLINT AS $$
+    SELECT (pg_backend_pid() % 16)::SMALLINT;
+$$ LANGUAGE sql;
+
+CREATE FUNCTION system_stats_users() RETURNS TRIGGER AS $$
+DECLARE
+    d_total BIGINT := 0;
+    d_active BIGINT := 0;
+    d_frozen BIGINT := 0;
+    o_total BIGINT := 0;
+    o_active BIGINT := 0;
+    o_frozen BIGINT := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COUNT(*),
+               COUNT(*) FILTER (WHERE status::text = 'ACTIVE'),
+               COUNT(*) FILTER (WHERE status::text = 'FROZEN')
+        INTO d_total, d_active, d_frozen
+        FROM new_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COUNT(*),
+               COUNT(*) FILTER (WHERE status::text = 'ACTIVE'),
+               COUNT(*) FILTER (WHERE status::text = 'FROZEN')
+        INTO o_total, o_active, o_frozen
+        FROM old_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+
+    d_total := d_total - o_total;
+    d_active := d_active - o_active;
+    d_frozen := d_frozen - o_frozen;
+
+    IF d_total <> 0 OR d_active <> 0 OR d_frozen <> 0 THEN
+        UPDATE system_stats SET
+            total_users = total_users + d_total,
+            active_users = active_users + d_active,
+            frozen_users = frozen_users + d_frozen
+        WHERE slot = system_stats_slot();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION system_stats_accounts() RETURNS TRIGGER AS $$
+DECLARE
+    d_balance DECIMAL(19, 2) := 0;
+    o_balance DECIMAL(19, 2) := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO d_balance FROM new_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COALESCE(SUM(balance), 0) INTO o_balance FROM old_rows WHERE NOT COALESCE(deleted, FALSE);
+    END IF;
+
+    d_balance := d_balance - o_balance;
+
+    IF d_balance <> 0 THEN
+        UPDATE system_stats SET total_balance = total_balance + d_balance
+        WHERE slot = system_stats_slot();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION system_stats_transactions() RETURNS TRIGGER AS $$
+DECLARE
+    d_count BIGINT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT COUNT(*) INTO d_count FROM new_rows;
+    ELSE
+        SELECT -COUNT(*) INTO d_count FROM old_rows;
+    END IF;
+
+    IF d_count <> 0 THEN
+        UPDATE system_stats SET total_transactions = total_transactions + d_count
+        WHERE slot = system_stats_slot();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables are only allowed on single-event triggers, hence one trigger per operation.
+CREATE TRIGGER trg_users_stats_insert AFTER INSERT ON users
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_users();
+CREATE TRIGGER trg_users_stats_update AFTER UPDATE ON users
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_users();
+CREATE TRIGGER trg_users_stats_delete AFTER DELETE ON users
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_users();
+
+CREATE TRIGGER trg_accounts_stats_insert AFTER INSERT ON accounts
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_accounts();
+CREATE TRIGGER trg_accounts_stats_update AFTER UPDATE ON accounts
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_accounts();
+CREATE TRIGGER trg_accounts_stats_delete AFTER DELETE ON accounts
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_accounts();
+
+CREATE TRIGGER trg_transactions_stats_insert AFTER INSERT ON transactions
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_transactions();
+CREATE TRIGGER trg_transactions_stats_delete AFTER DELETE ON transactions
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION system_stats_transactions();
@@ -0,0 +1,7 @@
+-- Per-user balance aggregation in the admin listing joins accounts by owner.
+CREATE INDEX idx_accounts_user_id ON accounts (user_id);
+
+-- Prefix search for the admin listings (LIKE 'term%').
+CREATE INDEX idx_users_username_prefix ON users (LOWER(username) text_pattern_ops);
+CREATE INDEX idx_users_email_prefix ON users (LOWER(email) text_pattern_ops);
+CREATE INDEX idx_accounts_number_prefix ON accounts (account_number text_pattern_ops);
@@ -0,0 +1,12 @@
+CREATE TABLE idempotency_keys (
+                                  owner VARCHAR(255) NOT NULL,
+                                  idempotency_key VARCHAR(255) NOT NULL,
+                                  request_hash VARCHAR(64) NOT NULL,
+                                  status_code INT,
+                                  response_body TEXT,
+                                  created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                  expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                                  CONSTRAINT pk_idempotency_keys PRIMARY KEY (owner, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
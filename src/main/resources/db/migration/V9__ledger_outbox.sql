@@ -0,0 +1,29 @@
+-- One row per ledger movement, written in the same transaction as the transactions row.
+CREATE SEQUENCE ledger_outbox_id_seq INCREMENT BY 50;
+
+-- delivery_seq is assigned by the relay after commit, so it follows commit order (unlike id, which is
+-- allocated in blocks per node) and can be used as a gap-free cursor by sinks and SSE clients.
+CREATE SEQUENCE ledger_outbox_delivery_seq;
+
+CREATE TABLE ledger_outbox (
+                               id BIGINT PRIMARY KEY DEFAULT nextval('ledger_outbox_id_seq'),
+                               transaction_id BIGINT NOT NULL,
+                               type VARCHAR(20) NOT NULL,
+                               amount DECIMAL(15, 2) NOT NULL,
+                               from_account_number VARCHAR(20),
+                               to_account_number VARCHAR(20),
+                               occurred_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                               delivery_seq BIGINT UNIQUE,
+                               published_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+ALTER SEQUENCE ledger_outbox_id_seq OWNED BY ledger_outbox.id;
+
+CREATE INDEX idx_ledger_outbox_pending ON ledger_outbox (id) WHERE delivery_seq IS NULL;
+CREATE INDEX idx_ledger_outbox_published_at ON ledger_outbox (published_at);
+
+CREATE TABLE outbox_checkpoints (
+                                    sink VARCHAR(64) PRIMARY KEY,
+                                    last_delivery_seq BIGINT NOT NULL,
+                                    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
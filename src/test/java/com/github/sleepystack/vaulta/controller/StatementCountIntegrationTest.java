@@ -0,0 +1,113 @@
+package com.github.sleepystack.vaulta.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sleepystack.vaulta.dto.AccountRequestDTO;
+import com.github.sleepystack.vaulta.dto.UserRegistrationDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.AccountType;
+import com.github.sleepystack.vaulta.util.DatabaseCleanup;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Guards the fetch plans of the account endpoints: each one must cost a fixed number of statements however many
+// accounts the user holds, so an N+1 creeping back in fails here. Listings are measured with the second-level cache
+// emptied; single-account lookups are measured warm, since they depend on the natural-id and "users" regions.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DatabaseCleanup databaseCleanup;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Statistics statistics;
+    private String token;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        databaseCleanup.execute();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String name = "fetch_" + UUID.randomUUID().toString().substring(0, 8);
+        UserRegistrationDTO registration = new UserRegistrationDTO(name, name + "@vaulta.com", "Password123");
+        String body = mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registration)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(body).get("token").asText();
+
+        accountNumber = openAccount(AccountType.CHECKING);
+        openAccount(AccountType.SAVINGS);
+    }
+
+    @Test
+    void myAccounts_ShouldLoadUserAndAccountsInOneStatement() throws Exception {
+        assertEquals(1, statementsFor("/api/v1/accounts/me"));
+    }
+
+    @Test
+    void accountDetails_ShouldTakeOwnerFromCache() throws Exception {
+        // Natural id resolves from the cache, the account is one primary-key select, the owner comes from "users".
+        assertEquals(1, warmStatementsFor("/api/v1/accounts/" + accountNumber));
+    }
+
+    @Test
+    void dashboardSummary_ShouldNotQueryPerAccount() throws Exception {
+        // User with accounts, then the recent transactions.
+        assertEquals(2, statementsFor("/api/v1/dashboard/summary"));
+    }
+
+    private long statementsFor(String path) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        return measure(path);
+    }
+
+    private long warmStatementsFor(String path) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        measure(path);
+        return measure(path);
+    }
+
+    private long measure(String path) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String openAccount(AccountType type) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/accounts/open")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequestDTO(type, BigDecimal.ZERO))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("accountNumber").asText();
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.sleepystack.vaulta.event;
+
+import com.github.sleepystack.vaulta.entity.enumeration.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final String SEQUENCER_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final String SINK_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?, hashtext(?))";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LedgerOutboxReader reader;
+
+    private final RecordingSink sharedSink = new RecordingSink("audit", false);
+    private final RecordingSink localSink = new RecordingSink("sse", true);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void relay_ShouldKeepSequencing_WhileBatchesComeBackFull() {
+        OutboxRelay relay = relay(List.of());
+        when(jdbcTemplate.queryForObject(eq(SEQUENCER_LOCK_SQL), eq(Boolean.class), any())).thenReturn(true);
+        when(jdbcTemplate.update(contains("ledger_outbox_delivery_seq"), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE, BATCH_SIZE, 1);
+
+        relay.relay();
+
+        verify(jdbcTemplate, times(3)).update(contains("ledger_outbox_delivery_seq"), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void relay_ShouldNotSequence_WhenAnotherNodeHoldsTheLock() {
+        OutboxRelay relay = relay(List.of());
+        when(jdbcTemplate.queryForObject(eq(SEQUENCER_LOCK_SQL), eq(Boolean.class), any())).thenReturn(false);
+
+        relay.relay();
+
+        verify(jdbcTemplate, never()).update(contains("ledger_outbox_delivery_seq"), any(Object[].class));
+    }
+
+    @Test
+    void relay_ShouldPublishPastCheckpoint_AndAdvanceIt() {
+        OutboxRelay relay = relay(List.of(sharedSink));
+        stubSequencerIdle();
+        stubCheckpoint(5L);
+        when(reader.after(5L, BATCH_SIZE)).thenReturn(List.of(event(6), event(7)));
+
+        relay.relay();
+
+        assertEquals(List.of(6L, 7L), sharedSink.sequences);
+        verify(jdbcTemplate).update(contains("INSERT INTO outbox_checkpoints"), eq("audit"), eq(7L));
+    }
+
+    @Test
+    void relay_ShouldKeepCheckpoint_WhenSinkFails() {
+        OutboxRelay relay = relay(List.of(sharedSink));
+        stubSequencerIdle();
+        stubCheckpoint(5L);
+        when(reader.after(5L, BATCH_SIZE)).thenReturn(List.of(event(6)));
+        sharedSink.failing = true;
+
+        relay.relay();
+
+        verify(jdbcTemplate, never()).update(contains("INSERT INTO outbox_checkpoints"), any(), any());
+    }
+
+    @Test
+    void relay_ShouldStartLocalSinkAtTail_AndAdvanceInMemory() {
+        OutboxRelay relay = relay(List.of(localSink));
+        stubSequencerIdle();
+        when(reader.tail()).thenReturn(10L);
+        when(reader.after(10L, BATCH_SIZE)).thenReturn(List.of(event(11), event(12)));
+        when(reader.after(12L, BATCH_SIZE)).thenReturn(List.of());
+
+        relay.relay();
+        relay.relay();
+
+        assertEquals(List.of(11L, 12L), localSink.sequences);
+        verify(reader, times(1)).tail();
+        verify(jdbcTemplate, never()).update(contains("outbox_checkpoints"), any(), any());
+    }
+
+    private OutboxRelay relay(List<OutboxSink> sinks) {
+        return new OutboxRelay(jdbcTemplate, transactionTemplate, reader, sinks, BATCH_SIZE, Duration.ofDays(7));
+    }
+
+    private void stubSequencerIdle() {
+        when(jdbcTemplate.queryForObject(eq(SEQUENCER_LOCK_SQL), eq(Boolean.class), any())).thenReturn(true);
+        when(jdbcTemplate.update(contains("ledger_outbox_delivery_seq"), eq(BATCH_SIZE))).thenReturn(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCheckpoint(long checkpoint) {
+        when(jdbcTemplate.queryForObject(eq(SINK_LOCK_SQL), eq(Boolean.class), any(), anyString())).thenReturn(true);
+        when(jdbcTemplate.query(contains("FROM outbox_checkpoints"), any(ResultSetExtractor.class), anyString()))
+                .thenReturn(checkpoint);
+    }
+
+    private static LedgerEvent event(long sequence) {
+        return new LedgerEvent(sequence, sequence, TransactionType.DEPOSIT, new BigDecimal("10.00"),
+                null, "ACC123", LocalDateTime.now());
+    }
+
+    private static class RecordingSink implements OutboxSink {
+
+        private final String name;
+        private final boolean nodeLocal;
+        private final List<Long> sequences = new ArrayList<>();
+        private boolean failing;
+
+        RecordingSink(String name, boolean nodeLocal) {
+            this.name = name;
+            this.nodeLocal = nodeLocal;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean isNodeLocal() {
+            return nodeLocal;
+        }
+
+        @Override
+        public void publish(List<LedgerEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("sink down");
+            }
+            events.forEach(event -> sequences.add(event.sequence()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.sleepystack.vaulta.event;
+
+import com.github.sleepystack.vaulta.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+class UserStreamSinkTest {
+
+    private static final String EMAIL = "stream@vaulta.com";
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private UserStreamSink sink;
+
+    @BeforeEach
+    void setUp() {
+        sink = new UserStreamSink(accountRepository, Duration.ofMinutes(30), 2);
+    }
+
+    @Test
+    void subscribe_ShouldCloseOldestStream_WhenUserIsAtTheCap() {
+        SseEmitter first = sink.subscribe(EMAIL, List.of("888000000016"));
+        SseEmitter second = sink.subscribe(EMAIL, List.of("888000000016"));
+        SseEmitter third = sink.subscribe(EMAIL, List.of("888000000016"));
+
+        assertClosed(first);
+        assertOpen(second);
+        assertOpen(third);
+    }
+
+    @Test
+    void onAccountOpened_ShouldCloseOnlyThatUsersStreams() {
+        SseEmitter own = sink.subscribe(EMAIL, List.of("888000000016"));
+        SseEmitter other = sink.subscribe("other@vaulta.com", List.of("888000000024"));
+
+        sink.onAccountOpened(new AccountOpenedEvent(EMAIL, "888000010015"));
+
+        assertClosed(own);
+        assertOpen(other);
+    }
+
+    private void assertClosed(SseEmitter emitter) {
+        assertThrows(IllegalStateException.class, () -> emitter.send(SseEmitter.event().comment("ping")));
+    }
+
+    private void assertOpen(SseEmitter emitter) {
+        assertDoesNotThrow(() -> emitter.send(SseEmitter.event().comment("ping")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.sleepystack.vaulta.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "application.rate-limit.store=jdbc",
+        "application.rate-limit.transactions.capacity=5",
+        "application.rate-limit.jdbc.max-unsynced-tokens=0"
+})
+@ActiveProfiles("test")
+class JdbcRateLimiterIntegrationTest {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RateLimitPolicy rateLimitPolicy;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets");
+    }
+
+    @Test
+    void shouldEnforceOneLimitAcrossNodes() {
+        // A second limiter over the same database stands in for another replica.
+        RateLimiter otherNode = new JdbcRateLimiter(
+                dataSource, jdbcTemplate, rateLimitPolicy, 1000, Duration.ofMinutes(10), 0, Duration.ofSeconds(1));
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            RateLimiter node = i % 2 == 0 ? rateLimiter : otherNode;
+            if (node.tryConsume(RouteGroup.TRANSACTIONS, "203.0.113.7")) {
+                allowed++;
+            }
+        }
+
+        assertEquals(5, allowed);
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.sleepystack.vaulta.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+
+    private static final String NEXTVAL_SQL = "SELECT nextval('account_number_seq')";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new AccountNumberAllocator(jdbcTemplate);
+    }
+
+    @Test
+    void checkDigit_ShouldMatchKnownLuhnValue() {
+        assertEquals(3, AccountNumberAllocator.checkDigit("7992739871"));
+    }
+
+    @Test
+    void hasValidCheckDigit_ShouldRejectMistypedNumber_AndExemptLegacyNumbers() {
+        assertTrue(AccountNumberAllocator.hasValidCheckDigit("888000000016"));
+        assertFalse(AccountNumberAllocator.hasValidCheckDigit("888000000061"));
+        assertFalse(AccountNumberAllocator.hasValidCheckDigit("888000000017"));
+        assertTrue(AccountNumberAllocator.hasValidCheckDigit("8881234567"));
+    }
+
+    @Test
+    void next_ShouldAppendCheckDigit_ToPaddedSequenceValue() {
+        when(jdbcTemplate.queryForObject(NEXTVAL_SQL, Long.class)).thenReturn(1L);
+
+        String number = allocator.next();
+
+        assertEquals(12, number.length());
+        assertTrue(number.startsWith("88800000001"));
+        assertEquals(AccountNumberAllocator.checkDigit("88800000001"), number.charAt(11) - '0');
+    }
+
+    @Test
+    void next_ShouldReserveNewBlock_OnlyWhenCurrentOneIsUsedUp() {
+        when(jdbcTemplate.queryForObject(NEXTVAL_SQL, Long.class)).thenReturn(1L, 1001L);
+
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i <= AccountNumberAllocator.BLOCK_SIZE; i++) {
+            numbers.add(allocator.next());
+        }
+
+        assertEquals(AccountNumberAllocator.BLOCK_SIZE + 1, numbers.size());
+        assertTrue(numbers.contains("88800001001" + AccountNumberAllocator.checkDigit("88800001001")));
+        verify(jdbcTemplate, times(2)).queryForObject(NEXTVAL_SQL, Long.class);
+    }
+
+    @Test
+    void next_ShouldFail_WhenSequenceRunsPastNumberSpace() {
+        when(jdbcTemplate.queryForObject(NEXTVAL_SQL, Long.class)).thenReturn(99_999_001L);
+
+        assertThrows(IllegalStateException.class, allocator::next);
+    }
+}
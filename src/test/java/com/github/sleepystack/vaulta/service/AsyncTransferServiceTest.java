@@ -0,0 +1,162 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.dto.AsyncTransferStatusDTO;
+import com.github.sleepystack.vaulta.dto.TransactionDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.TransferStatus;
+import com.github.sleepystack.vaulta.exception.InsufficientFundsException;
+import com.github.sleepystack.vaulta.exception.TransferNotFoundException;
+import com.github.sleepystack.vaulta.exception.TransferQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTransferServiceTest {
+
+    private static final String TEST_EMAIL = "test@vaulta.com";
+    private static final TransactionDTO TRANSFER = new TransactionDTO("ACC123", "ACC456", new BigDecimal("50.00"));
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AsyncTransferService asyncTransferService;
+    private final List<Object[]> finished = new CopyOnWriteArrayList<>();
+    private volatile int claimResult = 1;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            if (sql.contains("SET status = 'PROCESSING'")) {
+                return claimResult;
+            }
+            if (sql.contains("completed_at = ?")) {
+                Object[] args = invocation.getArguments();
+                finished.add(Arrays.copyOfRange(args, 1, args.length));
+            }
+            return 1;
+        });
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncTransferService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldStoreTransfer_AndMarkItCompleted() throws InterruptedException {
+        asyncTransferService = service(1, 10);
+
+        AsyncTransferStatusDTO submitted = asyncTransferService.submit(TRANSFER, TEST_EMAIL);
+
+        assertEquals(TransferStatus.PENDING, submitted.status());
+        verify(jdbcTemplate).update(contains("INSERT INTO async_transfers"), any(Object[].class));
+        assertEquals("COMPLETED", awaitFinish()[0]);
+        verify(transactionService).transfer("ACC123", "ACC456", new BigDecimal("50.00"), TEST_EMAIL);
+    }
+
+    @Test
+    void submit_ShouldRecordBusinessFailure() throws InterruptedException {
+        asyncTransferService = service(1, 10);
+        doThrow(new InsufficientFundsException("ACC123"))
+                .when(transactionService).transfer(anyString(), anyString(), any(), anyString());
+
+        asyncTransferService.submit(TRANSFER, TEST_EMAIL);
+
+        Object[] outcome = awaitFinish();
+        assertEquals("FAILED", outcome[0]);
+        assertEquals("INSUFFICIENT_FUNDS", outcome[1]);
+    }
+
+    @Test
+    void submit_ShouldNotTransfer_WhenAnotherNodeHoldsTheClaim() {
+        asyncTransferService = service(1, 10);
+        claimResult = 0;
+
+        asyncTransferService.submit(TRANSFER, TEST_EMAIL);
+
+        verify(transactionService, after(200).never()).transfer(anyString(), anyString(), any(), anyString());
+        assertEquals(0, finished.size());
+    }
+
+    @Test
+    void submit_ShouldReject_WhenQueueIsFull() throws InterruptedException {
+        asyncTransferService = service(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(transactionService).transfer(anyString(), anyString(), any(), anyString());
+
+        asyncTransferService.submit(TRANSFER, TEST_EMAIL);
+        started.await(5, TimeUnit.SECONDS);
+        asyncTransferService.submit(TRANSFER, TEST_EMAIL);
+
+        assertThrows(TransferQueueFullException.class, () -> asyncTransferService.submit(TRANSFER, TEST_EMAIL));
+        release.countDown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getStatus_ShouldHideTransfersOfOtherUsers() {
+        asyncTransferService = service(1, 10);
+        String transferId = asyncTransferService.submit(TRANSFER, TEST_EMAIL).transferId();
+        when(jdbcTemplate.query(contains("FROM async_transfers"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of());
+
+        assertThrows(TransferNotFoundException.class,
+                () -> asyncTransferService.getStatus(transferId, "someone-else@vaulta.com"));
+        assertThrows(TransferNotFoundException.class,
+                () -> asyncTransferService.getStatus("not-a-transfer-id", TEST_EMAIL));
+    }
+
+    private AsyncTransferService service(int workers, int queueCapacity) {
+        return new AsyncTransferService(transactionService, jdbcTemplate, transactionTemplate, workers, queueCapacity,
+                Duration.ofMinutes(15), Duration.ofSeconds(60), Duration.ofSeconds(10));
+    }
+
+    // Arguments of the status update: status, error code, message, completed at, id, lease owner.
+    private Object[] awaitFinish() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (finished.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, finished.size());
+        return finished.get(0);
+    }
+}
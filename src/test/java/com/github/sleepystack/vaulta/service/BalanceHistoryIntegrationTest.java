@@ -0,0 +1,171 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sleepystack.vaulta.dto.AccountRequestDTO;
+import com.github.sleepystack.vaulta.dto.DailyBalanceDTO;
+import com.github.sleepystack.vaulta.dto.UserRegistrationDTO;
+import com.github.sleepystack.vaulta.entity.enumeration.AccountType;
+import com.github.sleepystack.vaulta.entity.enumeration.TransactionType;
+import com.github.sleepystack.vaulta.util.DatabaseCleanup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Checks the snapshot-plus-delta answers against a plain replay of the ledger, on days the snapshot job has
+// covered and on days after its watermark.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BalanceHistoryIntegrationTest {
+
+    private static final String EMAIL = "history@vaulta.com";
+    private static final String COUNTERPARTY = "8881234567";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DatabaseCleanup databaseCleanup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Movement> movements = new ArrayList<>();
+
+    private String accountNumber;
+    private LocalDate base;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        databaseCleanup.execute();
+        accountNumber = openAccount();
+        base = LocalDate.now().minusDays(8);
+
+        move(TransactionType.DEPOSIT, "1000.00", base.atTime(9, 0));
+        move(TransactionType.WITHDRAWAL, "120.50", base.plusDays(1).atTime(10, 0));
+        move(TransactionType.TRANSFER, "200.00", base.plusDays(1).atTime(15, 0));
+        move(TransactionType.DEPOSIT, "75.25", base.plusDays(3).atTime(11, 0));
+        move(TransactionType.TRANSFER, "50.00", base.plusDays(5).atTime(8, 0));
+        move(TransactionType.DEPOSIT, "300.00", base.plusDays(6).atTime(17, 30));
+        move(TransactionType.WITHDRAWAL, "10.00", base.plusDays(7).atTime(12, 0));
+    }
+
+    @Test
+    void getBalanceAt_ShouldMatchReplay_OnBothSidesOfWatermark() {
+        balanceSnapshotService.snapshotThrough(base.plusDays(3));
+
+        List<LocalDateTime> instants = List.of(
+                base.atStartOfDay(),
+                base.atTime(9, 0),
+                base.plusDays(1).atTime(12, 0),
+                base.plusDays(2).atStartOfDay(),
+                base.plusDays(3).atTime(11, 0),
+                base.plusDays(4).atTime(12, 0),
+                base.plusDays(5).atTime(9, 0),
+                base.plusDays(6).atTime(18, 0),
+                base.plusDays(8).atTime(0, 30));
+        for (LocalDateTime at : instants) {
+            assertSameAmount(replayAt(at), balanceHistoryService.getBalanceAt(accountNumber, at, EMAIL).balance(),
+                    at.toString());
+        }
+    }
+
+    @Test
+    void getDailyBalances_ShouldMatchReplay_OnBothSidesOfWatermark() {
+        balanceSnapshotService.snapshotThrough(base.plusDays(3));
+        assertDailyBalancesMatchReplay();
+
+        // Moving the watermark on must not change any answer.
+        balanceSnapshotService.snapshotThrough(base.plusDays(6));
+        assertDailyBalancesMatchReplay();
+    }
+
+    private void assertDailyBalancesMatchReplay() {
+        List<DailyBalanceDTO> balances = balanceHistoryService.getDailyBalances(
+                accountNumber, base.minusDays(1), base.plusDays(7), EMAIL);
+
+        assertEquals(9, balances.size());
+        for (DailyBalanceDTO day : balances) {
+            assertSameAmount(replayAt(day.date().plusDays(1).atStartOfDay()), day.closingBalance(),
+                    day.date().toString());
+        }
+    }
+
+    // Balance after every movement strictly before `at`, starting from an empty account.
+    private BigDecimal replayAt(LocalDateTime at) {
+        return movements.stream()
+                .filter(movement -> movement.at().isBefore(at))
+                .map(Movement::delta)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void move(TransactionType type, String amount, LocalDateTime at) {
+        BigDecimal value = new BigDecimal(amount);
+        String from = type == TransactionType.DEPOSIT ? null : accountNumber;
+        String to = switch (type) {
+            case DEPOSIT -> accountNumber;
+            case TRANSFER -> COUNTERPARTY;
+            default -> null;
+        };
+        BigDecimal delta = type == TransactionType.DEPOSIT ? value : value.negate();
+
+        jdbcTemplate.queryForObject("SELECT create_transactions_partition(?)", String.class,
+                Date.valueOf(at.toLocalDate().withDayOfMonth(1)));
+        jdbcTemplate.update("""
+                        INSERT INTO transactions (type, amount, from_account_number, to_account_number, timestamp)
+                        VALUES (CAST(? AS transaction_type), ?, ?, ?, ?)
+                        """,
+                type.name(), value, from, to, Timestamp.valueOf(at));
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + ? WHERE account_number = ?", delta, accountNumber);
+        movements.add(new Movement(at, delta));
+    }
+
+    private String openAccount() throws Exception {
+        UserRegistrationDTO registration = new UserRegistrationDTO("history_user", EMAIL, "Password123");
+        String body = mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registration)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        body = mockMvc.perform(post("/api/v1/accounts/open")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequestDTO(AccountType.CHECKING, BigDecimal.ZERO))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("accountNumber").asText();
+    }
+
+    private static void assertSameAmount(BigDecimal expected, BigDecimal actual, String at) {
+        assertEquals(0, expected.compareTo(actual), () -> at + ": expected " + expected + " but was " + actual);
+    }
+
+    private record Movement(LocalDateTime at, BigDecimal delta) {}
+}
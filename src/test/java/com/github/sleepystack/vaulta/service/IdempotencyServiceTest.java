@@ -0,0 +1,91 @@
+package com.github.sleepystack.vaulta.service;
+
+import com.github.sleepystack.vaulta.dto.TransactionDTO;
+import com.github.sleepystack.vaulta.exception.IdempotencyKeyMismatchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String TEST_EMAIL = "test@vaulta.com";
+    private static final TransactionDTO TRANSFER = new TransactionDTO("ACC123", "ACC456", new BigDecimal("50.00"));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(
+                jdbcTemplate, transactionTemplate, Duration.ofHours(24), Duration.ofMinutes(10), 100);
+    }
+
+    @Test
+    void execute_ShouldRunAction_WhenNoKeyIsGiven() {
+        ResponseEntity<String> response = idempotencyService.execute(TEST_EMAIL, null, "transfer", TRANSFER, this::transfer);
+
+        assertEquals("done", response.getBody());
+        assertEquals(1, executions.get());
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void execute_ShouldReplayStoredResponse_WithoutRunningActionAgain() {
+        stubNewKey();
+
+        idempotencyService.execute(TEST_EMAIL, "key-1", "transfer", TRANSFER, this::transfer);
+        ResponseEntity<String> replay = idempotencyService.execute(TEST_EMAIL, "key-1", "transfer", TRANSFER, this::transfer);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, replay.getStatusCode());
+        assertEquals("done", replay.getBody());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_ShouldReject_WhenKeyIsReusedForDifferentRequest() {
+        stubNewKey();
+        idempotencyService.execute(TEST_EMAIL, "key-1", "transfer", TRANSFER, this::transfer);
+
+        TransactionDTO different = new TransactionDTO("ACC123", "ACC456", new BigDecimal("75.00"));
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> idempotencyService.execute(TEST_EMAIL, "key-1", "transfer", different, this::transfer));
+        assertEquals(1, executions.get());
+    }
+
+    private void stubNewKey() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any())).thenReturn(1);
+    }
+
+    private ResponseEntity<String> transfer() {
+        executions.incrementAndGet();
+        return ResponseEntity.ok("done");
+    }
+}
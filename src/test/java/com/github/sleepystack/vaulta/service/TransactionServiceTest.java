@@ -1,24 +1,37 @@
 package com.github.sleepystack.vaulta.service;
 
+import com.github.sleepystack.vaulta.dto.BatchTransferResponseDTO;
+import com.github.sleepystack.vaulta.dto.TransactionDTO;
 import com.github.sleepystack.vaulta.entity.Account;
 import com.github.sleepystack.vaulta.entity.Transaction;
 import com.github.sleepystack.vaulta.entity.User;
+import com.github.sleepystack.vaulta.entity.enumeration.BatchItemStatus;
+import com.github.sleepystack.vaulta.entity.enumeration.BatchMode;
+import com.github.sleepystack.vaulta.entity.enumeration.Status;
+import com.github.sleepystack.vaulta.exception.BusinessLogicException;
 import com.github.sleepystack.vaulta.exception.InsufficientFundsException;
 import com.github.sleepystack.vaulta.repository.AccountRepository;
+import com.github.sleepystack.vaulta.repository.LedgerOutboxRepository;
 import com.github.sleepystack.vaulta.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +43,12 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private LedgerOutboxRepository ledgerOutboxRepository;
+
+    @Mock
+    private SubLedgerService subLedgerService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -41,48 +60,133 @@ class TransactionServiceTest {
     void setUp() {
         User owner = new User();
         owner.setEmail(TEST_EMAIL);
+        owner.setStatus(Status.ACTIVE);
+
+        User recipient = new User();
+        recipient.setEmail("recipient@vaulta.com");
+        recipient.setStatus(Status.ACTIVE);
 
         sourceAccount = new Account();
         sourceAccount.setAccountNumber("ACC123");
         sourceAccount.setBalance(new BigDecimal("500.00"));
+        sourceAccount.setStatus(Status.ACTIVE);
         sourceAccount.setUser(owner); // Critical: Link the user!
 
         targetAccount = new Account();
         targetAccount.setAccountNumber("ACC456");
         targetAccount.setBalance(new BigDecimal("100.00"));
+        targetAccount.setStatus(Status.ACTIVE);
+        targetAccount.setUser(recipient);
+
+        lenient().when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
     void transfer_ShouldSucceed_WhenFundsAreAvailable() {
         BigDecimal amount = new BigDecimal("200.00");
-        when(accountRepository.findByAccountNumber("ACC123")).thenReturn(Optional.of(sourceAccount));
-        when(accountRepository.findByAccountNumber("ACC456")).thenReturn(Optional.of(targetAccount));
-
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sourceAccount, targetAccount));
 
         transactionService.transfer("ACC123", "ACC456", amount, TEST_EMAIL);
 
         assertEquals(new BigDecimal("300.00"), sourceAccount.getBalance());
         assertEquals(new BigDecimal("300.00"), targetAccount.getBalance());
 
-        verify(transactionRepository, times(3)).save(any(Transaction.class));
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
     }
 
     @Test
     void transfer_ShouldThrowException_WhenFundsAreInsufficient() {
         BigDecimal amount = new BigDecimal("1000.00");
-        when(accountRepository.findByAccountNumber("ACC123")).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sourceAccount, targetAccount));
 
         assertThrows(InsufficientFundsException.class,
                 () -> transactionService.transfer("ACC123", "ACC456", amount, TEST_EMAIL));
 
         assertEquals(new BigDecimal("500.00"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("100.00"), targetAccount.getBalance());
         verify(transactionRepository, never()).save(any());
     }
 
+    @Test
+    void transfer_ShouldLockBothAccountsInOneQuery() {
+        BigDecimal amount = new BigDecimal("50.00");
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sourceAccount, targetAccount));
+
+        transactionService.transfer("ACC123", "ACC456", amount, TEST_EMAIL);
+
+        verify(accountRepository, times(1)).findAllByAccountNumberInForUpdate(anyCollection());
+        verify(accountRepository, never()).findByAccountNumber(any());
+        verify(accountRepository, never()).findByAccountNumberForUpdate(any());
+    }
+
+    @Test
+    void transfer_ShouldThrow_WhenSourceAndTargetAreTheSame() {
+        BigDecimal amount = new BigDecimal("50.00");
+
+        assertThrows(BusinessLogicException.class,
+                () -> transactionService.transfer("ACC123", "ACC123", amount, TEST_EMAIL));
+
+        verifyNoInteractions(accountRepository, transactionRepository);
+    }
+
+    @Test
+    void transfer_ShouldThrow_WhenTargetCheckDigitIsWrong() {
+        BigDecimal amount = new BigDecimal("50.00");
+
+        assertThrows(BusinessLogicException.class,
+                () -> transactionService.transfer("ACC123", "888000000017", amount, TEST_EMAIL));
+
+        verifyNoInteractions(accountRepository, transactionRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void transferBatch_ShouldApplyValidItems_InBestEffortMode() {
+        ArgumentCaptor<List<Transaction>> ledger = ArgumentCaptor.forClass(List.class);
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sourceAccount, targetAccount));
+
+        BatchTransferResponseDTO result = transactionService.transferBatch(List.of(
+                new TransactionDTO("ACC123", "ACC456", new BigDecimal("300.00")),
+                new TransactionDTO("ACC123", "ACC456", new BigDecimal("300.00")),
+                new TransactionDTO("ACC123", "ACC456", new BigDecimal("200.00"))
+        ), BatchMode.BEST_EFFORT, TEST_EMAIL);
+
+        assertTrue(result.applied());
+        assertEquals(2, result.succeeded());
+        assertEquals(BatchItemStatus.FAILED, result.results().get(1).status());
+        assertEquals("INSUFFICIENT_FUNDS", result.results().get(1).errorCode());
+        assertEquals(new BigDecimal("0.00"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("600.00"), targetAccount.getBalance());
+        verify(accountRepository, times(1)).findAllByAccountNumberInForUpdate(anyCollection());
+        verify(transactionRepository).saveAll(ledger.capture());
+        assertEquals(2, ledger.getValue().size());
+    }
+
+    @Test
+    void transferBatch_ShouldApplyNothing_WhenAnyItemFailsInAllOrNothingMode() {
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sourceAccount, targetAccount));
+
+        BatchTransferResponseDTO result = transactionService.transferBatch(List.of(
+                new TransactionDTO("ACC123", "ACC456", new BigDecimal("100.00")),
+                new TransactionDTO("ACC123", "ACC999", new BigDecimal("100.00"))
+        ), BatchMode.ALL_OR_NOTHING, TEST_EMAIL);
+
+        assertFalse(result.applied());
+        assertEquals(BatchItemStatus.NOT_APPLIED, result.results().get(0).status());
+        assertEquals("ACCOUNT_NOT_FOUND", result.results().get(1).errorCode());
+        assertEquals(new BigDecimal("500.00"), sourceAccount.getBalance());
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
     @Test
     void withdraw_ShouldThrow_WhenBalanceIsTooLow() {
         BigDecimal bigAmount = new BigDecimal("1000.00");
-        when(accountRepository.findByAccountNumber("ACC123")).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountNumberForUpdate("ACC123")).thenReturn(Optional.of(sourceAccount));
 
         assertThrows(InsufficientFundsException.class, () -> {
             transactionService.withdraw("ACC123", bigAmount, TEST_EMAIL);
@@ -96,7 +200,7 @@ class TransactionServiceTest {
     void withdraw_ShouldThrow_WhenUserDoesNotOwnAccount() {
         String wrongEmail = "hacker@evil.com";
         BigDecimal amount = new BigDecimal("10.00");
-        when(accountRepository.findByAccountNumber("ACC123")).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountNumberForUpdate("ACC123")).thenReturn(Optional.of(sourceAccount));
 
         assertThrows(RuntimeException.class, () -> {
             transactionService.withdraw("ACC123", amount, wrongEmail);
@@ -104,4 +208,64 @@ class TransactionServiceTest {
 
         verify(transactionRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deposit_ShouldCreditSubLedger_WithoutLockingHotAccount() {
+        BigDecimal amount = new BigDecimal("25.00");
+        when(subLedgerService.tryCredit("ACC456", amount)).thenReturn(true);
+
+        transactionService.deposit("ACC456", amount);
+
+        verify(accountRepository, never()).findByAccountNumberForUpdate(any());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+    }
+
+    @Test
+    void transfer_ShouldFallBackToOrderedLocks_WhenHotTargetRejectsCredit() {
+        BigDecimal amount = new BigDecimal("50.00");
+        when(subLedgerService.isSharded("ACC456")).thenReturn(true);
+        when(accountRepository.findByAccountNumberForUpdate("ACC123")).thenReturn(Optional.of(sourceAccount));
+        when(subLedgerService.tryCredit("ACC456", amount)).thenReturn(false);
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sourceAccount, targetAccount));
+
+        transactionService.transfer("ACC123", "ACC456", amount, TEST_EMAIL);
+
+        InOrder locks = inOrder(accountRepository, subLedgerService);
+        locks.verify(accountRepository).findByAccountNumberForUpdate("ACC123");
+        locks.verify(subLedgerService).tryCredit("ACC456", amount);
+        locks.verify(accountRepository).findAllByAccountNumberInForUpdate(anyCollection());
+        assertEquals(new BigDecimal("450.00"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("150.00"), targetAccount.getBalance());
+    }
+
+    @Test
+    void transfer_ShouldLockBothRowsInOrder_WhenHotTargetSortsBelowSource() {
+        BigDecimal amount = new BigDecimal("50.00");
+        when(subLedgerService.isSharded("ACC123")).thenReturn(true);
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sourceAccount, targetAccount));
+
+        transactionService.transfer("ACC456", "ACC123", amount, "recipient@vaulta.com");
+
+        verify(accountRepository, never()).findByAccountNumberForUpdate(any());
+        verify(subLedgerService, never()).tryCredit(any(), any());
+        assertEquals(new BigDecimal("550.00"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("50.00"), targetAccount.getBalance());
+    }
+
+    @Test
+    void withdraw_ShouldDrainSlots_WhenAccountRowRunsShort() {
+        sourceAccount.setBalanceSlots(4);
+        when(accountRepository.findByAccountNumberForUpdate("ACC123")).thenReturn(Optional.of(sourceAccount));
+        doAnswer(invocation -> {
+            sourceAccount.setBalance(sourceAccount.getBalance().add(new BigDecimal("600.00")));
+            return null;
+        }).when(subLedgerService).drainInto(sourceAccount);
+
+        transactionService.withdraw("ACC123", new BigDecimal("1000.00"), TEST_EMAIL);
+
+        assertEquals(new BigDecimal("100.00"), sourceAccount.getBalance());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+    }
+}
@@ -27,6 +27,9 @@ class UserServiceTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -39,7 +42,7 @@ class UserServiceTest {
         accountWithMoney.setBalance(new BigDecimal("100.00")); // User has $100
         fakeUser.setAccounts(List.of(accountWithMoney));
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(fakeUser));
+        when(userRepository.findByIdWithAccounts(userId)).thenReturn(Optional.of(fakeUser));
 
         assertThrows(BusinessLogicException.class, () -> userService.deleteUser(userId));
 
@@ -57,13 +60,14 @@ class UserServiceTest {
         emptyAccount.setBalance(BigDecimal.ZERO);
         user.setAccounts(List.of(emptyAccount));
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findByIdWithAccounts(userId)).thenReturn(Optional.of(user));
 
         userService.deleteUser(userId);
 
         verify(accountService, times(1)).closeAccount("ACC123", user.getEmail());
 
         verify(userRepository).delete(user);
+        verify(principalCache).evict(user.getEmail());
 
         assertEquals(Status.CLOSED, user.getStatus());
     }